@@ -0,0 +1,65 @@
+package triviamo.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.AdaptiveSelector;
+import triviamo.CardStore;
+
+// Adaptive selection on large banks: one pick near a player's target rating, and one answer
+// rated (player and card move, the card changing bucket when it crosses a boundary).
+// Run with -t N to have N players share the selector.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AdaptiveBenchmark {
+    @State(Scope.Benchmark)
+    public static class Bank {
+        @Param({"10000", "1000000"})
+        int size;
+
+        AdaptiveSelector selector;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            selector = new AdaptiveSelector(CardStore.of(Decks.sample(size)));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Player {
+        final SplittableRandom random = new SplittableRandom(42);
+        final int[] deck = new int[12];
+        double rating = AdaptiveSelector.INITIAL_PLAYER_RATING;
+        int dealt;
+    }
+
+    @Benchmark
+    public int pick(Bank bank, Player player) {
+        return bank.selector.pick(player.rating - 147, player.deck, 0, player.random);
+    }
+
+    @Benchmark
+    public double pickAndRate(Bank bank, Player player) {
+        if (player.dealt == player.deck.length) {
+            player.dealt = 0;
+        }
+        int card = bank.selector.pick(player.rating - 147, player.deck, player.dealt, player.random);
+        player.deck[player.dealt++] = card;
+        player.rating = bank.selector.rate(player.rating, card, player.random.nextInt(10) < 7);
+        return player.rating;
+    }
+}
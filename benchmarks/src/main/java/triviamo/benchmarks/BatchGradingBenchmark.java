@@ -0,0 +1,62 @@
+package triviamo.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.BatchGrader;
+import triviamo.CardStore;
+
+// Grading a tournament's answer sheets in one batch: every core versus one thread
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class BatchGradingBenchmark {
+    @Param({"10000000"})
+    public int answers;
+
+    @Param({"100000"})
+    public int players;
+
+    private BatchGrader grader;
+    private int[] playerIds;
+    private int[] cardIds;
+    private byte[] options;
+
+    @Setup
+    public void setUp() {
+        CardStore store = CardStore.of(Decks.sample(100_000));
+        grader = new BatchGrader(store);
+        SplittableRandom random = new SplittableRandom(42);
+        playerIds = new int[answers];
+        cardIds = new int[answers];
+        options = new byte[answers];
+        for (int i = 0; i < answers; i++) {
+            playerIds[i] = random.nextInt(players);
+            cardIds[i] = random.nextInt(store.size());
+            options[i] = (byte) (random.nextInt(5) - 1); // -1 for a blank answer
+        }
+    }
+
+    @Benchmark
+    public BatchGrader.Totals parallel() {
+        return grader.grade(players, playerIds, cardIds, options);
+    }
+
+    @Benchmark
+    public BatchGrader.Totals singleThread() {
+        return grader.grade(players, playerIds, cardIds, options, 0, answers);
+    }
+}
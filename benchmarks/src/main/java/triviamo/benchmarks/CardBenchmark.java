@@ -0,0 +1,43 @@
+package triviamo.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.TriviaCard;
+
+// Building a card and reading it back
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+    private final List<String> options = List.of("Thomas Jefferson", "John Adams", "George Washington", "Benjamin Franklin");
+    private final TriviaCard card = new TriviaCard("Who was the first President of the United States?",
+        "George Washington", options, TriviaCard.Difficulty.EASY, "History");
+
+    @Benchmark
+    public TriviaCard construct() {
+        return new TriviaCard("Who was the first President of the United States?",
+            "George Washington", options, TriviaCard.Difficulty.EASY, "History");
+    }
+
+    @Benchmark
+    public List<String> getOptions() {
+        return card.getOptions();
+    }
+
+    @Benchmark
+    public String getCardInfo() {
+        return card.getCardInfo();
+    }
+}
@@ -0,0 +1,62 @@
+package triviamo.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import triviamo.CardStore;
+import triviamo.TriviaCard;
+
+// Measures the heap used by a synthetic bank held as TriviaCard objects versus a CardStore
+// Usage: java -Xmx4g -cp benchmarks.jar triviamo.benchmarks.CardStoreFootprint [cards]
+public class CardStoreFootprint {
+    private static final String[] CATEGORIES = {
+        "Geography", "Science", "History", "Technology", "Literature", "Mathematics", "Music", "Sports"
+    };
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long before = usedHeap();
+        List<TriviaCard> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(syntheticCard(i));
+        }
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        CardStore.Builder builder = new CardStore.Builder(count);
+        for (int i = 0; i < count; i++) {
+            builder.add(syntheticCard(i));
+        }
+        CardStore store = builder.build();
+        long storeBytes = usedHeap() - before;
+
+        System.out.printf("%,d cards, %,d distinct option texts%n", store.size(), store.textCount());
+        System.out.printf("TriviaCard objects: %,d bytes (%.1f bytes/card)%n", objectBytes, objectBytes / (double) count);
+        System.out.printf("CardStore:          %,d bytes (%.1f bytes/card)%n", storeBytes, storeBytes / (double) count);
+        System.out.printf("Reduction:          %.1f%%%n", 100.0 * (objectBytes - storeBytes) / objectBytes);
+        // Keep both layouts reachable until after the measurements
+        Reference.reachabilityFence(cards);
+        Reference.reachabilityFence(store);
+    }
+
+    // Fresh strings per card, the way a parser produces them; options repeat across the bank
+    private static TriviaCard syntheticCard(int i) {
+        List<String> options = new ArrayList<>(4);
+        for (int j = 0; j < 4; j++) {
+            options.add(new String("Option " + ((i * 7 + j * 13) % 5000)));
+        }
+        return new TriviaCard("Synthetic question number " + i + "?", new String(options.get(i & 3)),
+            options, TriviaCard.Difficulty.values()[i & 3], new String(CATEGORIES[i % CATEGORIES.length]));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
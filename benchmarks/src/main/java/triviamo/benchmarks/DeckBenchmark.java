@@ -0,0 +1,96 @@
+package triviamo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.CardFilter;
+import triviamo.CardIndex;
+import triviamo.CardStore;
+import triviamo.DailyChallenge;
+import triviamo.DeckBuilder;
+import triviamo.GameSession;
+import triviamo.TriviaCard;
+
+// Dealing a new game: GameSession.start() shuffles the deck and clears the answer sheet;
+// the deal* benchmarks draw a 12-card deck from a bank of deckSize cards
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    @Param({"12", "10000"})
+    public int deckSize;
+
+    private GameSession session;
+    private List<TriviaCard> cardList;
+    private DeckBuilder decks;
+    private CardFilter science;
+    private final int[] dealt = new int[12];
+    private int[] dealtScience;
+    private DailyChallenge daily;
+    private long player;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        List<TriviaCard> deck = Decks.sample(deckSize);
+        CardStore store = CardStore.of(deck);
+        session = new GameSession(store, Decks.allCards(store.size()), GameSession.DEFAULT_QUESTION_SECONDS,
+            new Random(42));
+        cardList = new ArrayList<>(deck);
+        decks = new DeckBuilder(new CardIndex(store));
+        science = CardFilter.ANY.withCategories("Science");
+        dealtScience = new int[Math.min(dealt.length, decks.available(science))];
+        daily = new DailyChallenge(store, Math.min(dealt.length, store.size()));
+    }
+
+    @Benchmark
+    public int startSession() {
+        session.finish();
+        session.start();
+        return session.currentCard();
+    }
+
+    // The old GUI shuffled its whole List<TriviaCard> with Collections.shuffle
+    @Benchmark
+    public TriviaCard shuffleCardList() {
+        Collections.shuffle(cardList);
+        return cardList.get(0);
+    }
+
+    @Benchmark
+    public int[] dealAnyCard() {
+        decks.dealInto(CardFilter.ANY, dealt, random);
+        return dealt;
+    }
+
+    // Filtered pools are built once per filter and cached by the index
+    @Benchmark
+    public int[] dealFiltered() {
+        decks.dealInto(science, dealtScience, random);
+        return dealtScience;
+    }
+
+    // Recomputing a player's stratified daily-challenge deck from its seed
+    @Benchmark
+    public int[] dealDaily() {
+        daily.deal(player++, dealt);
+        return dealt;
+    }
+}
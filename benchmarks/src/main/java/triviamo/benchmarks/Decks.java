@@ -0,0 +1,53 @@
+package triviamo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import triviamo.CardStore;
+import triviamo.GameSession;
+import triviamo.TriviaCard;
+
+// Synthetic decks and played-out sessions for the benchmarks
+final class Decks {
+    private static final String[] CATEGORIES = {
+        "Geography", "Science", "History", "Technology", "Literature", "Mathematics", "Music", "Sports"
+    };
+
+    private Decks() {
+    }
+
+    static List<TriviaCard> sample(int size) {
+        List<TriviaCard> cards = new ArrayList<>(size);
+        TriviaCard.Difficulty[] difficulties = TriviaCard.Difficulty.values();
+        for (int i = 0; i < size; i++) {
+            List<String> options = List.of("Option " + (i % 997), "Option " + (i % 991 + 1000),
+                "Option " + (i % 983 + 2000), "Option " + (i % 977 + 3000));
+            cards.add(new TriviaCard("Synthetic question number " + i + "?", options.get(i & 3), options,
+                difficulties[i % difficulties.length], CATEGORIES[i % CATEGORIES.length]));
+        }
+        return cards;
+    }
+
+    // A finished session where the player picked a random option for every card
+    static GameSession playedSession(CardStore store, Random random) {
+        GameSession session = new GameSession(store, allCards(store.size()), GameSession.DEFAULT_QUESTION_SECONDS, random);
+        session.start();
+        while (true) {
+            session.answer(random.nextInt(store.optionCount(session.currentCard())));
+            if (!session.hasNext()) {
+                break;
+            }
+            session.next();
+        }
+        session.finish();
+        return session;
+    }
+
+    static int[] allCards(int size) {
+        int[] cards = new int[size];
+        for (int i = 0; i < size; i++) {
+            cards[i] = i;
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,95 @@
+package triviamo.benchmarks;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.AnswerSheet;
+import triviamo.CardStore;
+import triviamo.TriviaCard;
+
+// Grading one answer on each grading path; all but the old toLowerCase() path should report 0 B/op
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingBenchmark {
+    private static final int ANSWERS = 1 << 16;
+
+    private TriviaCard[] cards;
+    private CardStore store;
+    private int[] cardIds;
+    private int[] chosen;
+    private String[] typed;
+    private AnswerSheet sheet;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<TriviaCard> deck = Decks.sample(64);
+        store = CardStore.of(deck);
+        cards = new TriviaCard[ANSWERS];
+        cardIds = new int[ANSWERS];
+        chosen = new int[ANSWERS];
+        typed = new String[ANSWERS];
+        for (int i = 0; i < ANSWERS; i++) {
+            cardIds[i] = i % deck.size();
+            cards[i] = deck.get(cardIds[i]);
+            chosen[i] = (i * 31) % cards[i].getOptions().size();
+            String text = cards[i].getOptions().get(chosen[i]);
+            typed[i] = (i & 1) == 0 ? text.toUpperCase(Locale.ROOT) : " " + text + " ";
+        }
+        sheet = new AnswerSheet(ANSWERS);
+    }
+
+    @Setup(Level.Iteration)
+    public void newSheet() {
+        sheet.reset();
+        next = 0;
+    }
+
+    private int nextAnswer() {
+        int i = next;
+        next = (i + 1) & (ANSWERS - 1);
+        return i;
+    }
+
+    @Benchmark
+    public boolean submitAnswerByIndex() {
+        int i = nextAnswer();
+        if (i == 0) {
+            sheet.reset(); // every position can only be answered once
+        }
+        return sheet.submitAnswer(i, cards[i], chosen[i]);
+    }
+
+    @Benchmark
+    public boolean storeIsCorrect() {
+        int i = nextAnswer();
+        return store.isCorrect(cardIds[i], chosen[i]);
+    }
+
+    @Benchmark
+    public boolean checkAnswerText() {
+        int i = nextAnswer();
+        return cards[i].checkAnswer(typed[i]);
+    }
+
+    @Benchmark
+    public boolean checkAnswerTextOld() {
+        int i = nextAnswer();
+        return typed[i].toLowerCase().equals(cards[i].getAnswer().toLowerCase());
+    }
+}
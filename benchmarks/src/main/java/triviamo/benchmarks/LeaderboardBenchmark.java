@@ -0,0 +1,74 @@
+package triviamo.benchmarks;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.Leaderboard;
+
+// Score ingestion and queries on a leaderboard that already holds `players` players;
+// run with -t N to measure contended ingestion
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    @Param({"1000", "1000000"})
+    public int players;
+
+    private Leaderboard leaderboard;
+    private String[] names;
+
+    @State(Scope.Thread)
+    public static class Player {
+        final SplittableRandom random = new SplittableRandom();
+        int score;
+    }
+
+    @Setup
+    public void setUp() {
+        leaderboard = new Leaderboard(Clock.systemUTC());
+        names = new String[players];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < players; i++) {
+            names[i] = "player-" + i;
+            leaderboard.submit(names[i], random.nextInt(100_000));
+        }
+    }
+
+    // Mostly scores that do not beat the player's best: the one-read fast path
+    @Benchmark
+    public void submitRandom(Player player) {
+        leaderboard.submit(names[player.random.nextInt(players)], player.random.nextInt(100_000));
+    }
+
+    // Every submission is a new best, so the entry moves in the ranking and the counts
+    @Benchmark
+    public void submitImproving(Player player) {
+        player.score += 100;
+        leaderboard.submit(names[player.random.nextInt(players)], 100_000 + player.score);
+    }
+
+    @Benchmark
+    public int rank(Player player) {
+        return leaderboard.rank(Leaderboard.Window.ALL_TIME, names[player.random.nextInt(players)]);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Standing> top10() {
+        return leaderboard.top(Leaderboard.Window.ALL_TIME, 10);
+    }
+}
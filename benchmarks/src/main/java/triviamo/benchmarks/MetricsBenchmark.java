@@ -0,0 +1,46 @@
+package triviamo.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.CardStore;
+import triviamo.GameSession;
+import triviamo.Metrics;
+
+// Cost of recording one question and its answer in the runtime metrics; run with -t N for
+// contended counters (every thread shares the process-wide registry, as sessions do)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    private GameSession session;
+    private GameSession.Listener recorder;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        CardStore store = CardStore.of(Decks.sample(1024));
+        session = new GameSession(store, Decks.allCards(store.size()), GameSession.DEFAULT_QUESTION_SECONDS,
+            new Random(42));
+        recorder = Metrics.shared().recorder(store);
+    }
+
+    @Benchmark
+    public void recordAnswer() {
+        int p = position++ & 1023;
+        recorder.questionShown(session, p, session.cardAt(p));
+        recorder.answered(session, p, p & 3, (p & 1) == 0);
+    }
+}
@@ -0,0 +1,104 @@
+package triviamo.benchmarks;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.CardStore;
+import triviamo.ReviewScheduler;
+
+// Spaced-repetition reviews: finding a player's next due card, and reviewing it (its entry
+// sinks back into the heap). Every player has played `cards` cards of a 1M-card bank; the clock
+// starts a year after their reviews, so every card is due, and jumps a year whenever a player
+// has reviewed them all.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ReviewBenchmark {
+    private static final int PLAYERS = 1000;
+    private static final long START = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final long YEAR = TimeUnit.DAYS.toMillis(365);
+
+    @Param({"1000", "100000"})
+    public int cards;
+
+    private final MovableClock clock = new MovableClock();
+    private ReviewScheduler.Schedule[] schedules;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CardStore store = CardStore.of(Decks.sample(1_000_000));
+        ReviewScheduler scheduler = new ReviewScheduler(store, clock);
+        SplittableRandom random = new SplittableRandom(42);
+        int players = (int) Math.min(PLAYERS, 20_000_000L / cards);
+        schedules = new ReviewScheduler.Schedule[players];
+        for (int player = 0; player < players; player++) {
+            schedules[player] = scheduler.schedule("player" + player);
+            for (int played = 0; played < cards; played++) {
+                clock.millis += 60_000;
+                schedules[player].review(random.nextInt(store.size()), random.nextInt(6));
+            }
+            clock.millis = START;
+        }
+        clock.millis = START + YEAR;
+    }
+
+    @Benchmark
+    public int nextDue() {
+        ReviewScheduler.Schedule schedule = schedules[next++ % schedules.length];
+        return schedule.nextDue();
+    }
+
+    @Benchmark
+    public int reviewNextDue() {
+        ReviewScheduler.Schedule schedule = schedules[next++ % schedules.length];
+        int card;
+        while ((card = schedule.nextDue()) < 0) {
+            clock.millis += YEAR;
+        }
+        schedule.review(card, 4);
+        return card;
+    }
+
+    private static final class MovableClock extends Clock {
+        long millis = START;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
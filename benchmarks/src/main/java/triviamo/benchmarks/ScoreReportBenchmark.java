@@ -0,0 +1,42 @@
+package triviamo.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import triviamo.CardStore;
+import triviamo.GameSession;
+import triviamo.ScoreReport;
+
+// The end-of-game summary behind the "Game Over" dialog; reads the running tally, so it should not grow with deckSize
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreReportBenchmark {
+    @Param({"12", "10000"})
+    public int deckSize;
+
+    private GameSession session;
+
+    @Setup
+    public void setUp() {
+        session = Decks.playedSession(CardStore.of(Decks.sample(deckSize)), new Random(42));
+    }
+
+    @Benchmark
+    public String finalScore() {
+        return ScoreReport.build(session);
+    }
+}
@@ -0,0 +1,288 @@
+package triviamo;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.random.RandomGenerator;
+
+// Adaptive card selection: Elo ratings for players and cards, and an ordered index of cards by rating
+//
+// Every card has a rating, seeded from its Difficulty (EASY 1200 .. EXPERT 1800); every player
+// starts at 1500. An answer moves both: the player up and the card down when the player wins,
+// by how surprising the result was. The next card is the one whose rating gives the player a
+// TARGET_SUCCESS chance of answering it. Cards are kept in 4-point rating buckets with a Fenwick
+// tree of bucket sizes, so finding the cards near a target rating is O(log buckets) however large
+// the bank is; a card moves between buckets only when its rating crosses a boundary.
+//
+// One selector serves every session of a bank. Card ratings are updated with CAS, a player's
+// rating under that Player's lock, a bucket move locks the two buckets involved (lower one
+// first), and picks lock one bucket to read a card, so thousands of sessions can select and
+// rate concurrently.
+public final class AdaptiveSelector {
+    public static final double INITIAL_PLAYER_RATING = 1500;
+    public static final double TARGET_SUCCESS = 0.7;
+    private static final double PLAYER_K = 32;
+    private static final double CARD_K = 4; // cards hear from many players, so each answer counts less
+
+    private static final int SCALE = 16;       // ratings are stored in 1/16ths of a point
+    private static final int BUCKET_SHIFT = 6; // 64/16 = 4 points per bucket
+    private static final int BUCKET_BITS = 10;
+    private static final int BUCKETS = 1 << BUCKET_BITS; // ratings 0 .. 4096
+    private static final int MAX_RATING = (BUCKETS << BUCKET_SHIFT) - 1;
+    private static final int PICK_ATTEMPTS = 4;
+
+    private final CardStore store;
+    private final AtomicIntegerArray ratings;
+    private final int[] bucketOf; // written under the locks of both buckets involved
+    private final int[] slotOf;   // index of the card within its bucket, under the bucket's lock
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+    private final AtomicIntegerArray tree = new AtomicIntegerArray(BUCKETS + 1);
+
+    // Unordered cards of one rating bucket; removal swaps the last card into the hole
+    private final class Bucket {
+        int[] cards;
+        int size;
+
+        Bucket(int capacity) {
+            cards = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int card) {
+            if (size == cards.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(cards, 0, grown, 0, size);
+                cards = grown;
+            }
+            slotOf[card] = size;
+            cards[size++] = card;
+        }
+
+        void remove(int card) {
+            int slot = slotOf[card];
+            int last = cards[--size];
+            cards[slot] = last;
+            slotOf[last] = slot;
+        }
+    }
+
+    public AdaptiveSelector(CardStore store) {
+        this.store = store;
+        int size = store.size();
+        this.ratings = new AtomicIntegerArray(size);
+        this.bucketOf = new int[size];
+        this.slotOf = new int[size];
+        int[] counts = new int[BUCKETS];
+        for (int card = 0; card < size; card++) {
+            int rating = toFixed(1200 + 200 * store.difficulty(card).ordinal());
+            ratings.set(card, rating);
+            bucketOf[card] = rating >>> BUCKET_SHIFT;
+            counts[bucketOf[card]]++;
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = new Bucket(counts[b]);
+        }
+        for (int card = 0; card < size; card++) {
+            buckets[bucketOf[card]].add(card);
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] != 0) {
+                addToTree(b, counts[b]);
+            }
+        }
+    }
+
+    // A new player at the initial rating; use it as the Dealer of that player's session
+    public Player newPlayer() {
+        return new Player(INITIAL_PLAYER_RATING);
+    }
+
+    // One player's rating, which picks each next card of their game and moves with every answer
+    public final class Player implements GameSession.Dealer {
+        private volatile double rating;
+
+        private Player(double rating) {
+            this.rating = rating;
+        }
+
+        public double rating() {
+            return rating;
+        }
+
+        // The card rating this player answers correctly TARGET_SUCCESS of the time
+        public double targetRating() {
+            return rating - 400 * Math.log10(TARGET_SUCCESS / (1 - TARGET_SUCCESS));
+        }
+
+        // Fill the deck up front so clients that look ahead see real cards; each card after
+        // the first is picked again once the one before it has been played
+        @Override
+        public void deal(int[] deck, RandomGenerator random) {
+            double target = targetRating();
+            for (int i = 0; i < deck.length; i++) {
+                deck[i] = pick(target, deck, i, random);
+            }
+        }
+
+        // Sessions of the same player share this Player, so the rating is updated under its lock
+        @Override
+        public void played(int[] deck, int position, boolean correct, RandomGenerator random) {
+            synchronized (this) {
+                rating = rate(rating, deck[position], correct);
+            }
+            if (position + 1 < deck.length) {
+                deck[position + 1] = pick(targetRating(), deck, position + 1, random);
+            }
+        }
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public double rating(int card) {
+        return ratings.get(card) / (double) SCALE;
+    }
+
+    // Rate one answer of a player on a card: move the card's rating and return the player's new one
+    public double rate(double playerRating, int card, boolean correct) {
+        double expected = 1 / (1 + Math.pow(10, (rating(card) - playerRating) / 400));
+        double surprise = (correct ? 1 : 0) - expected;
+        adjust(card, (int) Math.round(-CARD_K * surprise * SCALE));
+        return playerRating + PLAYER_K * surprise;
+    }
+
+    // A card rated close to target that is not among the first dealt cards of deck
+    //
+    // Cards are ranked by bucket; a random rank within a window around the target's rank picks
+    // a bucket, and a random card of that bucket is taken. The window doubles when the picks land
+    // on cards already dealt, so small banks still find the last free card.
+    public int pick(double target, int[] deck, int dealt, RandomGenerator random) {
+        int total = prefix(BUCKETS);
+        if (total <= dealt) {
+            throw new IllegalStateException("Only " + total + " cards to pick from, " + dealt + " dealt");
+        }
+        int bucket = nearestBucket(toFixed(target) >>> BUCKET_SHIFT, total);
+        int center = prefix(bucket) + buckets[bucket].size / 2;
+        for (int window = 1; ; window <<= 1) {
+            for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+                int rank = Math.max(0, Math.min(total - 1, center + random.nextInt(-window, window + 1)));
+                int card = randomCard(bucketAtRank(rank), random);
+                if (card >= 0 && !contains(deck, dealt, card)) {
+                    return card;
+                }
+            }
+            if (window >= total) {
+                // Every rank is in reach and random picks keep missing: take the first free card
+                for (int card = 0; card < store.size(); card++) {
+                    if (!contains(deck, dealt, card)) {
+                        return card;
+                    }
+                }
+            }
+        }
+    }
+
+    // The target bucket, or when it is empty the closer of its nearest non-empty neighbours
+    private int nearestBucket(int target, int total) {
+        int below = prefix(target);
+        if (prefix(target + 1) > below) {
+            return target;
+        }
+        int above = below < total ? bucketAtRank(below) : -1;
+        int under = below > 0 ? bucketAtRank(below - 1) : -1;
+        if (above < 0) {
+            return under;
+        }
+        return under < 0 || above - target <= target - under ? above : under;
+    }
+
+    private int randomCard(int bucket, RandomGenerator random) {
+        Bucket cards = buckets[bucket];
+        synchronized (cards) {
+            return cards.size == 0 ? -1 : cards.cards[random.nextInt(cards.size)];
+        }
+    }
+
+    private static boolean contains(int[] deck, int dealt, int card) {
+        for (int i = 0; i < dealt; i++) {
+            if (deck[i] == card) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void adjust(int card, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int current;
+        int updated;
+        do {
+            current = ratings.get(card);
+            updated = Math.max(0, Math.min(MAX_RATING, current + delta));
+        } while (!ratings.compareAndSet(card, current, updated));
+        if (current >>> BUCKET_SHIFT != updated >>> BUCKET_SHIFT) {
+            move(card);
+        }
+    }
+
+    // Put the card in the bucket of its current rating; concurrent movers settle on the latest rating
+    private void move(int card) {
+        while (true) {
+            int from = bucketOf[card]; // checked again under the lock
+            int to = ratings.get(card) >>> BUCKET_SHIFT;
+            if (from == to) {
+                return;
+            }
+            Bucket first = buckets[Math.min(from, to)];
+            Bucket second = buckets[Math.max(from, to)];
+            synchronized (first) {
+                synchronized (second) {
+                    if (bucketOf[card] != from) {
+                        continue;
+                    }
+                    buckets[from].remove(card);
+                    buckets[to].add(card);
+                    bucketOf[card] = to;
+                }
+            }
+            addToTree(from, -1);
+            addToTree(to, 1);
+            return;
+        }
+    }
+
+    private void addToTree(int bucket, int delta) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+    }
+
+    // Cards in buckets below the given one
+    private int prefix(int bucket) {
+        int sum = 0;
+        for (int i = bucket; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    // Bucket holding the card of the given rank (0-based, in rating order)
+    private int bucketAtRank(int rank) {
+        int position = 0;
+        for (int step = BUCKETS; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= BUCKETS) {
+                int count = tree.get(next);
+                if (count <= rank) {
+                    position = next;
+                    rank -= count;
+                }
+            }
+        }
+        return Math.min(position, BUCKETS - 1);
+    }
+
+    private static int toFixed(double rating) {
+        return (int) Math.max(0, Math.min(MAX_RATING, Math.round(rating * SCALE)));
+    }
+}
@@ -0,0 +1,108 @@
+package triviamo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Per-game answer state for a deck of shared, immutable TriviaCards
+//
+// Positions are deck positions (0 = first card dealt). Each position keeps the
+// chosen option in one byte, plus one bit in an answered bitset, so a game costs
+// a little over a byte per card no matter how many games share the same bank.
+// Recording an answer is a single compare-and-set: thread-safe and allocation-free.
+public final class AnswerSheet {
+    // Option recorded for a timeout or for free text that matches none of the options
+    public static final int NO_OPTION = -1;
+    // Largest option index that fits in the per-card byte
+    public static final int MAX_OPTION = 253;
+
+    // Stored byte is 0 for unanswered, otherwise (option + 2) read as unsigned
+    private static final byte UNANSWERED = 0;
+    private static final VarHandle CHOSEN = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle ANSWERED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final byte[] chosen;
+    private final long[] answered;
+
+    public AnswerSheet(int size) {
+        this.chosen = new byte[size];
+        this.answered = new long[(size + 63) >>> 6];
+    }
+
+    public int size() {
+        return chosen.length;
+    }
+
+    // Record the option chosen at a deck position
+    // Returns false if that position was already answered (the first answer wins)
+    public boolean record(int position, int option) {
+        if (option < NO_OPTION || option > MAX_OPTION) {
+            throw new IllegalArgumentException("Option index out of range: " + option);
+        }
+        if (!CHOSEN.compareAndSet(chosen, position, UNANSWERED, (byte) (option + 2))) {
+            return false;
+        }
+        ANSWERED.getAndBitwiseOr(answered, position >>> 6, 1L << position);
+        return true;
+    }
+
+    // Record the option clicked for a card and grade it by index
+    public boolean submitAnswer(int position, TriviaCard card, int optionIndex) {
+        if (!record(position, optionIndex)) {
+            throw new IllegalStateException("This question has already been answered!");
+        }
+        return card.isCorrectOption(optionIndex);
+    }
+
+    // Record a typed answer for a card and grade it against the normalized answer text
+    public boolean submitAnswer(int position, TriviaCard card, String userAnswer) {
+        if (!record(position, card.indexOfOption(userAnswer))) {
+            throw new IllegalStateException("This question has already been answered!");
+        }
+        return card.checkAnswer(userAnswer);
+    }
+
+    public boolean isAnswered(int position) {
+        return (byte) CHOSEN.getAcquire(chosen, position) != UNANSWERED;
+    }
+
+    // Option chosen at a position, or NO_OPTION if unanswered, timed out or free text
+    public int chosenOption(int position) {
+        int stored = (byte) CHOSEN.getAcquire(chosen, position) & 0xFF;
+        return stored == UNANSWERED ? NO_OPTION : stored - 2;
+    }
+
+    // Number of answered positions (may lag an answer that is being recorded right now)
+    public int answeredCount() {
+        int count = 0;
+        for (int i = 0; i < answered.length; i++) {
+            count += Long.bitCount((long) ANSWERED.getAcquire(answered, i));
+        }
+        return count;
+    }
+
+    // The raw state for a SessionSnapshot: the answered bitset, then the byte of every position
+    void writeTo(ByteBuffer out) {
+        for (int i = 0; i < answered.length; i++) {
+            out.putLong((long) ANSWERED.getAcquire(answered, i));
+        }
+        out.put(chosen);
+    }
+
+    // Replace every answer with the state written by writeTo; same rules as reset()
+    void readFrom(ByteBuffer in) {
+        for (int i = 0; i < answered.length; i++) {
+            answered[i] = in.getLong();
+        }
+        in.get(chosen);
+        VarHandle.releaseFence();
+    }
+
+    // Clear every answer for a new game; not safe to call while answers are being recorded
+    public void reset() {
+        Arrays.fill(chosen, UNANSWERED);
+        Arrays.fill(answered, 0L);
+        VarHandle.releaseFence();
+    }
+}
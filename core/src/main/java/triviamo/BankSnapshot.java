@@ -0,0 +1,284 @@
+package triviamo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+// Precompiled CardStore snapshot (.tqs): the store's columns as they sit in memory
+//
+// A bank is compiled once (from .csv, .jsonl or .tqb); launching then maps the snapshot
+// instead of parsing the bank. The fixed-width columns are bulk-copied into the store's arrays,
+// and questions and option texts stay UTF-8 in the mapping until a card is played and asks for
+// them, so startup does no parsing and creates no per-card objects.
+//
+// Layout (little-endian, every section 8-byte aligned):
+//   header: int magic "TQS1", int version, int cards, int texts, int categories,
+//           int option ids, then the int file offset of each of the SECTIONS below
+//   byte  correct option, difficulty per card; short points per card
+//   int   category id, answer text id, normalized answer text id per card
+//   int   option start per card (+1), option text ids
+//   strings: questions, texts, categories, each as int[count + 1] offsets then UTF-8 bytes
+// The whole file is mapped at once, so a snapshot must stay under 2 GB.
+public final class BankSnapshot {
+    static final String EXTENSION = ".tqs";
+    static final int MAGIC = 0x31535154; // "TQS1" in file byte order
+    static final int VERSION = 1;
+    private static final int SECTIONS = 11;
+    private static final int HEADER_SIZE = 4 * (6 + SECTIONS);
+
+    private BankSnapshot() {
+    }
+
+    // UTF-8 strings left in the mapping, decoded one at a time on request
+    static final class Strings {
+        private final ByteBuffer buffer;
+        private final int offsets; // position of int[count + 1]; string i is bytes [o[i], o[i + 1]) after them
+        private final int data;
+        private final int count;
+
+        Strings(ByteBuffer buffer, int offsets, int count) {
+            this.buffer = buffer;
+            this.offsets = offsets;
+            this.count = count;
+            this.data = offsets + 4 * (count + 1);
+        }
+
+        String get(int index) {
+            int from = buffer.getInt(offsets + 4 * index);
+            int to = buffer.getInt(offsets + 4 * (index + 1));
+            byte[] bytes = new byte[to - from];
+            buffer.get(data + from, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int count() {
+            return count;
+        }
+
+        // Position just past the last string
+        int end() {
+            return data + buffer.getInt(offsets + 4 * count);
+        }
+    }
+
+    // Map a snapshot as a store; the mapping stays open for as long as the store is used
+    public static CardStore map(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is larger than 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a Triviamo bank snapshot (bad magic): " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + path);
+        }
+        int cards = buffer.getInt(8);
+        int texts = buffer.getInt(12);
+        int categoryCount = buffer.getInt(16);
+        int optionIdCount = buffer.getInt(20);
+        int[] sections = new int[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            sections[i] = buffer.getInt(24 + 4 * i);
+        }
+        try {
+            byte[] correctOptions = new byte[cards];
+            buffer.get(sections[0], correctOptions);
+            byte[] difficulties = new byte[cards];
+            buffer.get(sections[1], difficulties);
+            short[] points = new short[cards];
+            buffer.slice(sections[2], 2 * cards).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(points);
+            int[] categoryIds = ints(buffer, sections[3], cards);
+            int[] answerIds = ints(buffer, sections[4], cards);
+            int[] normalizedAnswerIds = ints(buffer, sections[5], cards);
+            int[] optionStart = ints(buffer, sections[6], cards + 1);
+            int[] optionIds = ints(buffer, sections[7], optionIdCount);
+            Strings questions = new Strings(buffer, sections[8], cards);
+            Strings textStrings = new Strings(buffer, sections[9], texts);
+            Strings categoryStrings = new Strings(buffer, sections[10], categoryCount);
+            if (questions.end() > sections[9] || textStrings.end() > sections[10]
+                    || categoryStrings.end() > buffer.capacity()) {
+                throw new IOException("Snapshot sections overlap: " + path);
+            }
+            String[] categories = new String[categoryCount];
+            for (int i = 0; i < categoryCount; i++) {
+                categories[i] = categoryStrings.get(i);
+            }
+            return new CardStore(cards, correctOptions, difficulties, points, categoryIds, answerIds,
+                normalizedAnswerIds, optionStart, optionIds, categories, questions, textStrings);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Snapshot is truncated: " + path, e);
+        }
+    }
+
+    private static int[] ints(ByteBuffer buffer, int offset, int count) {
+        int[] values = new int[count];
+        buffer.slice(offset, 4 * count).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values);
+        return values;
+    }
+
+    // Compile a store into a snapshot; returns the snapshot size in bytes
+    public static long write(CardStore store, Path target) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(out, HEADER_SIZE);
+            int cards = store.size();
+            int optionIdCount = 0;
+            for (int card = 0; card < cards; card++) {
+                optionIdCount += store.optionCount(card);
+            }
+            int[] sections = new int[SECTIONS];
+            sections[0] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                writer.ensure(1).put((byte) store.correctOption(card));
+            }
+            sections[1] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                writer.ensure(1).put((byte) store.difficulty(card).ordinal());
+            }
+            sections[2] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                writer.ensure(2).putShort((short) store.points(card));
+            }
+            sections[3] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                writer.ensure(4).putInt(store.categoryId(card));
+            }
+            sections[4] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                writer.ensure(4).putInt(store.answerId(card));
+            }
+            sections[5] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                writer.ensure(4).putInt(store.normalizedAnswerId(card));
+            }
+            sections[6] = writer.align();
+            int start = 0;
+            writer.ensure(4).putInt(0);
+            for (int card = 0; card < cards; card++) {
+                start += store.optionCount(card);
+                writer.ensure(4).putInt(start);
+            }
+            sections[7] = writer.align();
+            for (int card = 0; card < cards; card++) {
+                for (int option = 0; option < store.optionCount(card); option++) {
+                    writer.ensure(4).putInt(store.optionId(card, option));
+                }
+            }
+            sections[8] = writer.strings(cards, store::question);
+            sections[9] = writer.strings(store.textCount(), store::text);
+            sections[10] = writer.strings(store.categories().size(), store.categories()::get);
+            writer.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(cards).putInt(store.textCount())
+                .putInt(store.categories().size()).putInt(optionIdCount);
+            for (int section : sections) {
+                header.putInt(section);
+            }
+            header.flip();
+            out.write(header, 0);
+            return writer.position;
+        }
+    }
+
+    // Sequential little-endian writes through one direct buffer, tracking the file position
+    private static final class Writer {
+        private final FileChannel out;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long written; // file position of the buffer's first byte
+        long position;
+
+        Writer(FileChannel out, long start) {
+            this.out = out;
+            this.written = start;
+            this.position = start;
+        }
+
+        ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            position += bytes;
+            return buffer;
+        }
+
+        int align() throws IOException {
+            while ((position & 7) != 0) {
+                ensure(1).put((byte) 0);
+            }
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot would be larger than 2 GB");
+            }
+            return (int) position;
+        }
+
+        // Offsets, then bytes; the offsets are patched in once the byte lengths are known
+        int strings(int count, IntFunction<String> values) throws IOException {
+            int offsets = align();
+            flush();
+            long data = offsets + 4L * (count + 1);
+            ByteBuffer table = ByteBuffer.allocate(4 * (count + 1)).order(ByteOrder.LITTLE_ENDIAN);
+            written = data;
+            position = data;
+            int length = 0;
+            table.putInt(0);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = values.apply(i).getBytes(StandardCharsets.UTF_8);
+                if ((long) length + bytes.length > Integer.MAX_VALUE) {
+                    throw new IOException("Snapshot would be larger than 2 GB");
+                }
+                length += bytes.length;
+                table.putInt(length);
+                if (bytes.length > buffer.capacity()) {
+                    flush();
+                    out.write(ByteBuffer.wrap(bytes), written);
+                    written += bytes.length;
+                    position += bytes.length;
+                } else {
+                    ensure(bytes.length).put(bytes);
+                }
+            }
+            flush();
+            table.flip();
+            out.write(table, offsets);
+            return offsets;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += out.write(buffer, written);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Validate a bank and compile it into a snapshot; a bank with broken cards is not compiled
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || !args[1].endsWith(EXTENSION)) {
+            System.err.println("Usage: java BankSnapshot <bank.csv|bank.jsonl|bank.tqb> <bank" + EXTENSION + ">");
+            System.exit(1);
+        }
+        CardStore store = CardStore.load(Path.of(args[0]));
+        BankValidator.Summary summary = BankValidator.validate(store, System.err::println);
+        System.err.println(summary);
+        if (!summary.valid()) {
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        long bytes = write(store, Path.of(args[1]));
+        System.out.printf("Wrote %s: %d cards, %d bytes in %d ms%n", args[1], store.size(), bytes,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,288 @@
+package triviamo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Import-time checks of a question bank: broken cards and near-duplicate questions
+//
+// Every card must have OPTIONS options (one per answer button), an answer that is one of them,
+// and a non-blank question and category; a card failing any of these is an error. Questions
+// that read almost the same as an earlier one are reported as near-duplicates, a warning.
+//
+// Card checks run on the common fork-join pool in chunks, and their issues are handed to the
+// report in card order as soon as every earlier chunk is done. Near-duplicates are found with
+// MinHash: each question is reduced to a 64-value signature of its character shingles, and
+// cards whose signatures agree on all four values of any of 16 bands are compared, so the bank
+// is never compared pairwise. Signatures keep 8 bits per value, 64 bytes per card.
+public final class BankValidator {
+    public static final int OPTIONS = 4;
+    public static final double NEAR_DUPLICATE_SIMILARITY = 0.8; // estimated Jaccard similarity of shingles
+
+    private static final int CHUNK = 1 << 14;
+    private static final int SHINGLE = 5;   // characters per shingle
+    private static final int HASHES = 64;   // signature values per card
+    private static final int ROWS = 4;      // values per band, packed into one int
+    private static final int BANDS = HASHES / ROWS;
+    private static final int NO_ORIGINAL = Integer.MAX_VALUE;
+
+    private BankValidator() {
+    }
+
+    public enum Kind {
+        OPTION_COUNT,
+        ANSWER_NOT_AN_OPTION,
+        EMPTY_QUESTION,
+        EMPTY_CATEGORY,
+        NEAR_DUPLICATE;
+
+        public boolean isError() {
+            return this != NEAR_DUPLICATE;
+        }
+    }
+
+    // One problem with one card; cards are numbered from 1 in bank order
+    public record Issue(int card, Kind kind, String detail) {
+        @Override
+        public String toString() {
+            return (kind.isError() ? "error" : "warning") + ": card " + (card + 1) + ": " + kind + ": " + detail;
+        }
+    }
+
+    public record Summary(int cards, long errors, long nearDuplicates, long nanos) {
+        public boolean valid() {
+            return errors == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d cards checked in %d ms: %d errors, %d near-duplicate questions",
+                cards, TimeUnit.NANOSECONDS.toMillis(nanos), errors, nearDuplicates);
+        }
+    }
+
+    // Check every card and look for near-duplicates, reporting each issue as it is found
+    public static Summary validate(CardStore store, Consumer<Issue> report) {
+        long start = System.nanoTime();
+        long errors = checkCards(store, report);
+        long nearDuplicates = findNearDuplicates(store, report);
+        return new Summary(store.size(), errors, nearDuplicates, System.nanoTime() - start);
+    }
+
+    // The per-card checks only, in card order; returns the number of errors
+    public static long checkCards(CardStore store, Consumer<Issue> report) {
+        boolean[] blankCategories = new boolean[store.categories().size()];
+        for (int i = 0; i < blankCategories.length; i++) {
+            blankCategories[i] = store.categories().get(i).isBlank();
+        }
+        long[] errors = new long[1];
+        IntStream.range(0, (store.size() + CHUNK - 1) / CHUNK).parallel()
+            .mapToObj(chunk -> checkChunk(store, blankCategories, chunk * CHUNK,
+                Math.min(store.size(), (chunk + 1) * CHUNK)))
+            .forEachOrdered(issues -> {
+                errors[0] += issues.size();
+                issues.forEach(report);
+            });
+        return errors[0];
+    }
+
+    private static List<Issue> checkChunk(CardStore store, boolean[] blankCategories, int from, int to) {
+        List<Issue> issues = new ArrayList<>();
+        for (int card = from; card < to; card++) {
+            if (store.question(card).isBlank()) {
+                issues.add(new Issue(card, Kind.EMPTY_QUESTION, "question is blank"));
+            }
+            if (blankCategories[store.categoryId(card)]) {
+                issues.add(new Issue(card, Kind.EMPTY_CATEGORY, "category is blank"));
+            }
+            if (store.optionCount(card) != OPTIONS) {
+                issues.add(new Issue(card, Kind.OPTION_COUNT,
+                    store.optionCount(card) + " options, expected " + OPTIONS));
+            }
+            if (store.correctOption(card) < 0) {
+                issues.add(new Issue(card, Kind.ANSWER_NOT_AN_OPTION,
+                    "answer '" + store.answer(card) + "' is not one of " + store.options(card)));
+            }
+        }
+        return issues;
+    }
+
+    // Report every card whose question is a near-duplicate of an earlier card's, in card order;
+    // returns the number reported
+    public static long findNearDuplicates(CardStore store, Consumer<Issue> report) {
+        int size = store.size();
+        int[] signatures = new int[size * BANDS];
+        IntStream.range(0, size).parallel().forEach(card -> sign(store.question(card), signatures, card * BANDS));
+
+        // Earliest similar card of each card, found band by band; the minimum wins
+        AtomicIntegerArray originals = new AtomicIntegerArray(size);
+        for (int card = 0; card < size; card++) {
+            originals.set(card, NO_ORIGINAL);
+        }
+        IntStream.range(0, BANDS).parallel().forEach(band -> matchBand(signatures, band, size, originals));
+
+        long found = 0;
+        for (int card = 0; card < size; card++) {
+            int original = originals.get(card);
+            if (original != NO_ORIGINAL) {
+                found++;
+                report.accept(new Issue(card, Kind.NEAR_DUPLICATE, String.format(
+                    "question reads like card %d (%.0f%% similar): \"%s\"", original + 1,
+                    100 * similarity(signatures, original, card), store.question(original))));
+            }
+        }
+        return found;
+    }
+
+    // Sort the cards by one band of their signatures and compare the cards in each run of equal bands
+    private static void matchBand(int[] signatures, int band, int size, AtomicIntegerArray originals) {
+        long[] keys = new long[size];
+        for (int card = 0; card < size; card++) {
+            keys[card] = (long) signatures[card * BANDS + band] << 32 | card;
+        }
+        Arrays.sort(keys); // by band value, then card
+        boolean[] matched = new boolean[0];
+        for (int from = 0, to; from < size; from = to) {
+            int value = (int) (keys[from] >>> 32);
+            to = from + 1;
+            while (to < size && (int) (keys[to] >>> 32) == value) {
+                to++;
+            }
+            int run = to - from;
+            if (run < 2 || isEmptySignature(signatures, (int) keys[from])) {
+                continue;
+            }
+            if (matched.length < run) {
+                matched = new boolean[Math.max(run, 2 * matched.length)];
+            }
+            Arrays.fill(matched, 0, run, false);
+            // A card matched to an earlier one is not compared again, so a run of copies costs O(run)
+            for (int i = 0; i < run; i++) {
+                if (matched[i]) {
+                    continue;
+                }
+                int original = (int) keys[from + i];
+                for (int j = i + 1; j < run; j++) {
+                    int card = (int) keys[from + j];
+                    if (!matched[j] && similarity(signatures, original, card) >= NEAR_DUPLICATE_SIMILARITY) {
+                        matched[j] = true;
+                        originals.accumulateAndGet(card, original, Math::min);
+                    }
+                }
+            }
+        }
+    }
+
+    // MinHash of the question's shingles, 8 bits per value, four values to an int
+    //
+    // Shingles are taken from the folded letters and digits, with runs of anything else read as
+    // one space, so punctuation and case do not matter. The 64 hash functions are h1 + i * h2 of
+    // one 64-bit shingle hash. A question too short for one shingle gives the all-zero signature.
+    private static void sign(String question, int[] signatures, int offset) {
+        int[] minimums = new int[HASHES];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+        char[] window = new char[SHINGLE];
+        int length = 0;
+        boolean space = true; // leading separators are dropped
+        for (int i = 0; i < question.length(); i++) {
+            char c = question.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                c = Character.toLowerCase(c);
+                space = false;
+            } else if (space) {
+                continue;
+            } else {
+                c = ' ';
+                space = true;
+            }
+            window[length % SHINGLE] = c;
+            length++;
+            if (length >= SHINGLE) {
+                long hash = 0;
+                for (int k = length - SHINGLE; k < length; k++) {
+                    hash = hash * 31 + window[k % SHINGLE];
+                }
+                long h1 = mix(hash);
+                long h2 = mix(h1) | 1;
+                for (int h = 0; h < HASHES; h++) {
+                    minimums[h] = Math.min(minimums[h], (int) ((h1 + h * h2) >>> 32));
+                }
+            }
+        }
+        if (length < SHINGLE) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            int packed = 0;
+            for (int row = 0; row < ROWS; row++) {
+                packed = packed << 8 | (minimums[band * ROWS + row] & 0xFF);
+            }
+            signatures[offset + band] = packed;
+        }
+    }
+
+    private static boolean isEmptySignature(int[] signatures, int card) {
+        for (int band = 0; band < BANDS; band++) {
+            if (signatures[card * BANDS + band] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Estimated Jaccard similarity of two cards' shingle sets; unrelated 8-bit values agree 1 time in 256
+    private static double similarity(int[] signatures, int a, int b) {
+        int equal = 0;
+        for (int band = 0; band < BANDS; band++) {
+            int x = signatures[a * BANDS + band] ^ signatures[b * BANDS + band];
+            for (int row = 0; row < ROWS; row++) {
+                if ((x >>> (8 * row) & 0xFF) == 0) {
+                    equal++;
+                }
+            }
+        }
+        double chance = 1.0 / 256;
+        return Math.max(0, ((double) equal / HASHES - chance) / (1 - chance));
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Validate a bank, streaming the report to stdout or a file; exits with 1 when a card is broken
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: java BankValidator <bank.csv|bank.jsonl|bank.tqb|bank.tqs> [report.txt]");
+            System.exit(1);
+        }
+        CardStore store = CardStore.load(Path.of(args[0]));
+        Summary summary;
+        try (PrintWriter out = args.length == 2
+                ? new PrintWriter(Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8))
+                : new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))) {
+            summary = validate(store, out::println);
+            out.println(summary);
+            if (out.checkError()) {
+                throw new IOException("Could not write the report");
+            }
+        }
+        if (args.length == 2) {
+            System.out.println(summary);
+        }
+        System.exit(summary.valid() ? 0 : 1);
+    }
+}
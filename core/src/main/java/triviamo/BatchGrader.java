@@ -0,0 +1,122 @@
+package triviamo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Grades answer sheets in bulk, e.g. a tournament's sheets collected on paper or offline
+//
+// Answers come as three parallel arrays: the player (0 .. players-1) who gave it, the card,
+// and the option chosen, -1 for none. The arrays are cut into one slice per core; each slice is
+// graded in a single pass into its own per-player and per-category totals, which are summed at
+// the end, so no counter is shared between threads. Grading compares the chosen option with the
+// store's correct option column and adds the card's points without a branch, allocating nothing
+// per answer, and nothing is written to the cards, so a bank grades any number of batches.
+public final class BatchGrader {
+    private static final int MIN_SLICE = 1 << 16; // smaller slices cost more to merge than they save
+
+    private final CardStore store;
+
+    public BatchGrader(CardStore store) {
+        this.store = store;
+    }
+
+    // Per-player and per-category totals of one batch
+    public static final class Totals {
+        private final int[] playerAnswered;
+        private final int[] playerCorrect;
+        private final long[] playerScore;
+        private final long[] categoryAnswered;
+        private final long[] categoryCorrect;
+        private final long[] categoryScored;
+
+        private Totals(int players, int categories) {
+            playerAnswered = new int[players];
+            playerCorrect = new int[players];
+            playerScore = new long[players];
+            categoryAnswered = new long[categories];
+            categoryCorrect = new long[categories];
+            categoryScored = new long[categories];
+        }
+
+        private Totals add(Totals other) {
+            for (int i = 0; i < playerAnswered.length; i++) {
+                playerAnswered[i] += other.playerAnswered[i];
+                playerCorrect[i] += other.playerCorrect[i];
+                playerScore[i] += other.playerScore[i];
+            }
+            for (int i = 0; i < categoryAnswered.length; i++) {
+                categoryAnswered[i] += other.categoryAnswered[i];
+                categoryCorrect[i] += other.categoryCorrect[i];
+                categoryScored[i] += other.categoryScored[i];
+            }
+            return this;
+        }
+
+        public int players() {
+            return playerAnswered.length;
+        }
+
+        // Answer sheets may leave questions blank; those count as answered, not correct
+        public int answered(int player) {
+            return playerAnswered[player];
+        }
+
+        public int correct(int player) {
+            return playerCorrect[player];
+        }
+
+        public long score(int player) {
+            return playerScore[player];
+        }
+
+        // By the store's category id
+        public long categoryAnswered(int category) {
+            return categoryAnswered[category];
+        }
+
+        public long categoryCorrect(int category) {
+            return categoryCorrect[category];
+        }
+
+        public long categoryScored(int category) {
+            return categoryScored[category];
+        }
+    }
+
+    // Grade answers[i] = (players[i], cards[i], options[i]) for every i, using every core
+    public Totals grade(int playerCount, int[] players, int[] cards, byte[] options) {
+        if (players.length != cards.length || cards.length != options.length) {
+            throw new IllegalArgumentException("Answer columns differ in length: " + players.length + " players, "
+                + cards.length + " cards, " + options.length + " options");
+        }
+        int answers = cards.length;
+        int slices = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), answers / MIN_SLICE));
+        return IntStream.range(0, slices).parallel()
+            .mapToObj(slice -> grade(playerCount, players, cards, options,
+                (int) ((long) answers * slice / slices), (int) ((long) answers * (slice + 1) / slices)))
+            .reduce(Totals::add)
+            .orElseThrow();
+    }
+
+    // Grade answers [from, to) on the calling thread
+    public Totals grade(int playerCount, int[] players, int[] cards, byte[] options, int from, int to) {
+        Totals totals = new Totals(playerCount, store.categories().size());
+        for (int i = from; i < to; i++) {
+            int player = players[i];
+            int card = cards[i];
+            int option = options[i];
+            int category = store.categoryId(card);
+            // 1 for a right answer, 0 otherwise; a blank (-1) never matches, even on a card whose
+            // answer is not among its options
+            int right = (option == store.correctOption(card) & option >= 0) ? 1 : 0;
+            int points = right * store.points(card);
+            totals.playerAnswered[player]++;
+            totals.playerCorrect[player] += right;
+            totals.playerScore[player] += points;
+            totals.categoryAnswered[category]++;
+            totals.categoryCorrect[category] += right;
+            totals.categoryScored[category] += points;
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,189 @@
+package triviamo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+// Memory-mapped binary question bank (.tqb)
+//
+// Layout (big-endian):
+//   int   magic "TQB1"
+//   int   card count
+//   per card:
+//     byte  difficulty ordinal
+//     str   category, question, answer
+//     ubyte option count, then that many str options
+//   str = unsigned short byte length + UTF-8 bytes
+//
+// The file is mapped in windows, so banks larger than the address space of a
+// single MappedByteBuffer still stream through a fixed amount of memory.
+public class BinaryQuestionBank implements QuestionBankSource {
+    static final String EXTENSION = ".tqb";
+    static final int MAGIC = 0x54514231; // "TQB1"
+    private static final long WINDOW_SIZE = 256L << 20;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int MAX_OPTIONS = 0xFF;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int cardCount;
+    private final byte[] scratch = new byte[MAX_STRING_BYTES];
+    private final String[] options = new String[MAX_OPTIONS];
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int cardsRead = 0;
+
+    private BinaryQuestionBank(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        map(0);
+        ensure(8);
+        if (window.getInt() != MAGIC) {
+            throw new IOException("Not a Triviamo question bank (bad magic)");
+        }
+        this.cardCount = window.getInt();
+    }
+
+    public static BinaryQuestionBank open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BinaryQuestionBank(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Number of cards declared in the header
+    public int size() {
+        return cardCount;
+    }
+
+    @Override
+    public TriviaCard next() throws IOException {
+        if (cardsRead == cardCount) {
+            return null;
+        }
+        ensure(1);
+        int difficultyOrdinal = window.get();
+        TriviaCard.Difficulty[] difficulties = TriviaCard.Difficulty.values();
+        if (difficultyOrdinal < 0 || difficultyOrdinal >= difficulties.length) {
+            throw new IOException("Card " + cardsRead + ": bad difficulty " + difficultyOrdinal);
+        }
+        String category = readString();
+        String question = readString();
+        String answer = readString();
+        ensure(1);
+        int optionCount = window.get() & 0xFF;
+        for (int i = 0; i < optionCount; i++) {
+            options[i] = readString();
+        }
+        cardsRead++;
+        return new TriviaCard(question, answer, Arrays.asList(options).subList(0, optionCount),
+            difficulties[difficultyOrdinal], category);
+    }
+
+    private String readString() throws IOException {
+        ensure(2);
+        int length = window.getShort() & 0xFFFF;
+        ensure(length);
+        window.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Make sure the next n bytes are inside the current window, sliding it forward if needed
+    private void ensure(int n) throws IOException {
+        if (window.remaining() >= n) {
+            return;
+        }
+        long position = windowStart + window.position();
+        if (position + n > fileSize) {
+            throw new IOException("Question bank is truncated at byte " + position);
+        }
+        map(position);
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, fileSize - position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Write every card from the source into a binary bank; returns the number of cards written
+    public static int write(QuestionBankSource source, Path target) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            buffer.putInt(MAGIC).putInt(0); // count is patched once the source is drained
+            int count = 0;
+            TriviaCard card;
+            while ((card = source.next()) != null) {
+                List<String> cardOptions = card.getOptions();
+                if (cardOptions.size() > MAX_OPTIONS) {
+                    throw new IOException("Card " + count + " has more than " + MAX_OPTIONS + " options");
+                }
+                buffer = put(out, buffer, (byte) card.getDifficulty().ordinal());
+                buffer = putString(out, buffer, card.getCategory());
+                buffer = putString(out, buffer, card.getQuestion());
+                buffer = putString(out, buffer, card.getAnswer());
+                buffer = put(out, buffer, (byte) cardOptions.size());
+                for (String option : cardOptions) {
+                    buffer = putString(out, buffer, option);
+                }
+                count++;
+            }
+            flush(out, buffer);
+            out.write(ByteBuffer.allocate(4).putInt(0, count), 4);
+            return count;
+        }
+    }
+
+    private static ByteBuffer put(FileChannel out, ByteBuffer buffer, byte value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush(out, buffer);
+        }
+        return buffer.put(value);
+    }
+
+    private static ByteBuffer putString(FileChannel out, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IOException("String longer than " + MAX_STRING_BYTES + " bytes: " + value.substring(0, 40) + "...");
+        }
+        if (buffer.remaining() < 2 + bytes.length) {
+            flush(out, buffer);
+        }
+        return buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Convert a CSV or JSON-lines bank into the binary format
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || !args[1].endsWith(EXTENSION)) {
+            System.err.println("Usage: java BinaryQuestionBank <bank.csv|bank.jsonl> <bank" + EXTENSION + ">");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        try (QuestionBankSource source = QuestionBankSource.open(Path.of(args[0]))) {
+            int count = write(source, Path.of(args[1]));
+            System.out.println(new QuestionBankLoader.LoadStats(count, System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package triviamo;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+// Which cards a deck may be drawn from, e.g. "Science cards at HARD or above"
+// An empty set means "any" for that column. Filters are values, so they can key caches.
+public record CardFilter(Set<String> categories, Set<TriviaCard.Difficulty> difficulties) {
+    public static final CardFilter ANY = new CardFilter(Set.of(), Set.of());
+
+    public CardFilter {
+        categories = Set.copyOf(categories);
+        difficulties = Set.copyOf(difficulties);
+    }
+
+    // A name given twice counts once
+    public CardFilter withCategories(String... names) {
+        return new CardFilter(new HashSet<>(Arrays.asList(names)), difficulties);
+    }
+
+    public CardFilter withDifficulties(Set<TriviaCard.Difficulty> levels) {
+        return new CardFilter(categories, levels);
+    }
+
+    // Keep only cards at the given difficulty or harder
+    public CardFilter atLeast(TriviaCard.Difficulty minimum) {
+        return withDifficulties(EnumSet.range(minimum, TriviaCard.Difficulty.EXPERT));
+    }
+
+    public boolean isAny() {
+        return categories.isEmpty() && difficulties.isEmpty();
+    }
+}
@@ -0,0 +1,152 @@
+package triviamo;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bitmap indexes over a CardStore's category and difficulty columns
+//
+// Each category and each difficulty owns one bitset with a bit per card, so a
+// filter is answered by OR-ing the wanted categories, OR-ing the wanted
+// difficulties and AND-ing the two: 64 cards per machine word. The card ids of
+// recently used filters are cached, so drawing another deck from the same filter
+// does not touch the bitmaps again. The cache is bounded by the ids it holds as
+// well as by the number of filters, since broad filters over a big bank each
+// hold an id list nearly the size of the bank.
+public final class CardIndex {
+    private static final int MAX_CACHED_FILTERS = 256;
+    private static final int MAX_CACHED_BANKS = 8; // at most this many bank-sized id lists are cached
+
+    private final CardStore store;
+    private final int words;
+    private final long[][] byCategory;
+    private final long[][] byDifficulty;
+    private final Map<CardFilter, int[]> matches = new ConcurrentHashMap<>();
+    private final long maxCachedIds;
+    private long cachedIds; // guarded by this
+
+    public CardIndex(CardStore store) {
+        this.store = store;
+        this.words = (store.size() + 63) >>> 6;
+        this.byCategory = new long[store.categories().size()][words];
+        this.byDifficulty = new long[TriviaCard.Difficulty.values().length][words];
+        this.maxCachedIds = (long) MAX_CACHED_BANKS * store.size();
+        for (int card = 0; card < store.size(); card++) {
+            long bit = 1L << card;
+            byCategory[store.categoryId(card)][card >>> 6] |= bit;
+            byDifficulty[store.difficulty(card).ordinal()][card >>> 6] |= bit;
+        }
+    }
+
+    public CardStore store() {
+        return store;
+    }
+
+    // Bitset of the cards matching a filter (bit n = card id n)
+    public long[] bitmap(CardFilter filter) {
+        long[] result = union(byCategory, categoryIds(filter));
+        long[] levels = union(byDifficulty, difficultyIds(filter));
+        if (result == null) {
+            return levels != null ? levels : allCards();
+        }
+        if (levels != null) {
+            for (int i = 0; i < words; i++) {
+                result[i] &= levels[i];
+            }
+        }
+        return result;
+    }
+
+    public int count(CardFilter filter) {
+        if (filter.isAny()) {
+            return store.size();
+        }
+        return matching(filter).length;
+    }
+
+    // Card ids matching a filter, in id order; cached per filter. Callers must not modify the array.
+    public int[] matching(CardFilter filter) {
+        int[] ids = matches.get(filter);
+        if (ids == null) {
+            ids = toIds(bitmap(filter));
+            cache(filter, ids);
+        }
+        return ids;
+    }
+
+    // Clears the whole cache when it is full; filters still in use are cached again on their next draw
+    private synchronized void cache(CardFilter filter, int[] ids) {
+        if (matches.size() >= MAX_CACHED_FILTERS || cachedIds + ids.length > maxCachedIds) {
+            matches.clear();
+            cachedIds = 0;
+        }
+        if (matches.putIfAbsent(filter, ids) == null) {
+            cachedIds += ids.length;
+        }
+    }
+
+    synchronized long cachedIds() {
+        return cachedIds;
+    }
+
+    private int[] categoryIds(CardFilter filter) {
+        int[] ids = new int[filter.categories().size()];
+        int n = 0;
+        for (String category : filter.categories()) {
+            int id = store.categories().indexOf(category);
+            if (id >= 0) {
+                ids[n++] = id;
+            }
+        }
+        // A filter naming only unknown categories matches nothing, rather than everything
+        return filter.categories().isEmpty() ? null : Arrays.copyOf(ids, n);
+    }
+
+    private static int[] difficultyIds(CardFilter filter) {
+        if (filter.difficulties().isEmpty()) {
+            return null;
+        }
+        return filter.difficulties().stream().mapToInt(Enum::ordinal).toArray();
+    }
+
+    // OR of the selected bitsets, or null when the column is unfiltered
+    private long[] union(long[][] bitsets, int[] selected) {
+        if (selected == null) {
+            return null;
+        }
+        long[] result = new long[words];
+        for (int id : selected) {
+            long[] bits = bitsets[id];
+            for (int i = 0; i < words; i++) {
+                result[i] |= bits[i];
+            }
+        }
+        return result;
+    }
+
+    private long[] allCards() {
+        long[] result = new long[words];
+        Arrays.fill(result, -1L);
+        if ((store.size() & 63) != 0) {
+            result[words - 1] = (1L << store.size()) - 1;
+        }
+        return result;
+    }
+
+    private static int[] toIds(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        int[] ids = new int[count];
+        int n = 0;
+        for (int i = 0; i < bitmap.length; i++) {
+            long word = bitmap[i];
+            while (word != 0) {
+                ids[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,319 @@
+package triviamo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+// Columnar, read-only store for a large question bank
+//
+// Instead of one TriviaCard object (plus an options list) per card, every column
+// lives in its own array and cards are plain int ids. Categories and option texts
+// are interned into dictionaries, so "1945" or "Science" is stored once however
+// many cards use it. Answers are interned into the option dictionary too, since
+// they are almost always one of the options.
+//
+// A store mapped from a BankSnapshot starts with empty question and text arrays
+// and decodes each string from the mapping the first time it is asked for.
+public final class CardStore {
+    private static final TriviaCard.Difficulty[] DIFFICULTIES = TriviaCard.Difficulty.values();
+
+    private final int size;
+    private final String[] questions;
+    private final int[] answerIds;
+    private final int[] normalizedAnswerIds; // TriviaCard.normalize(answer), interned with the texts
+    private final byte[] correctOptions;     // index of the answer among the options, or -1
+    private final byte[] difficulties;
+    private final short[] points;
+    private final int[] categoryIds;
+    private final int[] optionStart; // options of card i are optionIds[optionStart[i] .. optionStart[i + 1])
+    private final int[] optionIds;
+    private final String[] categories;
+    private final String[] texts;
+    private final List<String> categoryView;
+    private final BankSnapshot.Strings snapshotQuestions; // null unless mapped from a snapshot
+    private final BankSnapshot.Strings snapshotTexts;
+
+    private CardStore(Builder builder) {
+        this.size = builder.size;
+        this.questions = Arrays.copyOf(builder.questions, size);
+        this.answerIds = Arrays.copyOf(builder.answerIds, size);
+        this.normalizedAnswerIds = Arrays.copyOf(builder.normalizedAnswerIds, size);
+        this.correctOptions = Arrays.copyOf(builder.correctOptions, size);
+        this.difficulties = Arrays.copyOf(builder.difficulties, size);
+        this.points = Arrays.copyOf(builder.points, size);
+        this.categoryIds = Arrays.copyOf(builder.categoryIds, size);
+        this.optionStart = Arrays.copyOf(builder.optionStart, size + 1);
+        this.optionIds = Arrays.copyOf(builder.optionIds, builder.optionStart[size]);
+        this.categories = builder.categories.toArray(String[]::new);
+        this.texts = builder.texts.toArray(String[]::new);
+        this.categoryView = List.of(categories);
+        this.snapshotQuestions = null;
+        this.snapshotTexts = null;
+    }
+
+    // A store over columns read from a snapshot; questions and texts are decoded on first use
+    CardStore(int size, byte[] correctOptions, byte[] difficulties, short[] points, int[] categoryIds,
+              int[] answerIds, int[] normalizedAnswerIds, int[] optionStart, int[] optionIds,
+              String[] categories, BankSnapshot.Strings questions, BankSnapshot.Strings texts) {
+        this.size = size;
+        this.correctOptions = correctOptions;
+        this.difficulties = difficulties;
+        this.points = points;
+        this.categoryIds = categoryIds;
+        this.answerIds = answerIds;
+        this.normalizedAnswerIds = normalizedAnswerIds;
+        this.optionStart = optionStart;
+        this.optionIds = optionIds;
+        this.categories = categories;
+        this.categoryView = List.of(categories);
+        this.questions = new String[size];
+        this.texts = new String[texts.count()];
+        this.snapshotQuestions = questions;
+        this.snapshotTexts = texts;
+    }
+
+    // Build a store from already loaded cards
+    public static CardStore of(List<TriviaCard> cards) {
+        Builder builder = new Builder(cards.size());
+        for (TriviaCard card : cards) {
+            builder.add(card);
+        }
+        return builder.build();
+    }
+
+    // Stream a whole bank into a store without keeping the TriviaCard objects
+    public static CardStore load(QuestionBankSource source) throws IOException {
+        Builder builder = new Builder(1024);
+        QuestionBankLoader.load(source, builder::add);
+        return builder.build();
+    }
+
+    // Load a bank file, reporting throughput on stderr; a .tqs snapshot is mapped rather than parsed
+    public static CardStore load(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(BankSnapshot.EXTENSION)) {
+            long start = System.nanoTime();
+            CardStore store = BankSnapshot.map(path);
+            QuestionBankLoader.report(path, new QuestionBankLoader.LoadStats(store.size(), System.nanoTime() - start));
+            return store;
+        }
+        Builder builder = new Builder(1024);
+        try (QuestionBankSource source = QuestionBankSource.open(path)) {
+            QuestionBankLoader.report(path, QuestionBankLoader.load(source, builder::add));
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String question(int card) {
+        String question = questions[card];
+        if (question == null) {
+            // Strings are immutable, so a racing thread at worst decodes the same text twice
+            question = snapshotQuestions.get(card);
+            questions[card] = question;
+        }
+        return question;
+    }
+
+    public String answer(int card) {
+        return text(answerIds[card]);
+    }
+
+    // Index of the answer among the card's options, or -1 if it is not one of them
+    public int correctOption(int card) {
+        return correctOptions[card];
+    }
+
+    // Grade a chosen option
+    public boolean isCorrect(int card, int option) {
+        return option >= 0 && option == correctOptions[card];
+    }
+
+    // Grade a free-text answer against the pre-normalized answer, without allocating
+    public boolean checkAnswer(int card, String userAnswer) {
+        return userAnswer != null && TriviaCard.matchesNormalized(userAnswer, text(normalizedAnswerIds[card]));
+    }
+
+    public TriviaCard.Difficulty difficulty(int card) {
+        return DIFFICULTIES[difficulties[card]];
+    }
+
+    public int points(int card) {
+        return points[card];
+    }
+
+    public int categoryId(int card) {
+        return categoryIds[card];
+    }
+
+    public String category(int card) {
+        return categories[categoryIds[card]];
+    }
+
+    // Distinct categories, indexed by category id
+    public List<String> categories() {
+        return categoryView;
+    }
+
+    // Distinct option and answer texts in the dictionary
+    public int textCount() {
+        return texts.length;
+    }
+
+    public int optionCount(int card) {
+        return optionStart[card + 1] - optionStart[card];
+    }
+
+    // Dictionary id of an option; equal ids mean equal option text
+    public int optionId(int card, int option) {
+        return optionIds[optionStart[card] + option];
+    }
+
+    public String option(int card, int option) {
+        return text(optionId(card, option));
+    }
+
+    // Option or answer text by dictionary id
+    String text(int id) {
+        String text = texts[id];
+        if (text == null) {
+            text = snapshotTexts.get(id);
+            texts[id] = text;
+        }
+        return text;
+    }
+
+    int answerId(int card) {
+        return answerIds[card];
+    }
+
+    int normalizedAnswerId(int card) {
+        return normalizedAnswerIds[card];
+    }
+
+    // Read-only view of a card's options (no copying)
+    public List<String> options(int card) {
+        return new OptionsView(optionStart[card], optionStart[card + 1]);
+    }
+
+    // Materialize a card as a TriviaCard, e.g. for code that still works with card objects
+    public TriviaCard card(int card) {
+        return new TriviaCard(question(card), answer(card), options(card), difficulty(card), category(card));
+    }
+
+    private final class OptionsView extends AbstractList<String> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        OptionsView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Option " + index + " of " + (to - from));
+            }
+            return text(optionIds[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    // Accumulates cards column by column, interning categories and option texts
+    public static final class Builder {
+        private final Map<String, Integer> categoryIndex = new HashMap<>();
+        private final Map<String, Integer> textIndex = new HashMap<>();
+        private final List<String> categories = new ArrayList<>();
+        private final List<String> texts = new ArrayList<>();
+        private int size = 0;
+        private String[] questions;
+        private int[] answerIds;
+        private int[] normalizedAnswerIds;
+        private byte[] correctOptions;
+        private byte[] difficulties;
+        private short[] points;
+        private int[] categoryIds;
+        private int[] optionStart;
+        private int[] optionIds;
+
+        public Builder(int expectedCards) {
+            int capacity = Math.max(16, expectedCards);
+            questions = new String[capacity];
+            answerIds = new int[capacity];
+            normalizedAnswerIds = new int[capacity];
+            correctOptions = new byte[capacity];
+            difficulties = new byte[capacity];
+            points = new short[capacity];
+            categoryIds = new int[capacity];
+            optionStart = new int[capacity + 1];
+            optionIds = new int[capacity * 4];
+        }
+
+        public Builder add(TriviaCard card) {
+            return add(card.getQuestion(), card.getAnswer(), card.getOptions(), card.getDifficulty(), card.getCategory());
+        }
+
+        public Builder add(String question, String answer, List<String> options,
+                           TriviaCard.Difficulty difficulty, String category) {
+            if (size == questions.length) {
+                int capacity = size + (size >> 1);
+                questions = Arrays.copyOf(questions, capacity);
+                answerIds = Arrays.copyOf(answerIds, capacity);
+                normalizedAnswerIds = Arrays.copyOf(normalizedAnswerIds, capacity);
+                correctOptions = Arrays.copyOf(correctOptions, capacity);
+                difficulties = Arrays.copyOf(difficulties, capacity);
+                points = Arrays.copyOf(points, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+                optionStart = Arrays.copyOf(optionStart, capacity + 1);
+            }
+            int correctOption = TriviaCard.findCorrectOption(answer, options);
+            if (correctOption > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Answer must be one of the first " + (Byte.MAX_VALUE + 1) + " options");
+            }
+            int start = optionStart[size];
+            if (start + options.size() > optionIds.length) {
+                optionIds = Arrays.copyOf(optionIds, Math.max(start + options.size(), optionIds.length + (optionIds.length >> 1)));
+            }
+            for (int i = 0; i < options.size(); i++) {
+                optionIds[start + i] = intern(textIndex, texts, options.get(i));
+            }
+            questions[size] = question;
+            answerIds[size] = intern(textIndex, texts, answer);
+            normalizedAnswerIds[size] = intern(textIndex, texts, TriviaCard.normalize(answer));
+            correctOptions[size] = (byte) correctOption;
+            difficulties[size] = (byte) difficulty.ordinal();
+            points[size] = (short) difficulty.getPoints();
+            categoryIds[size] = intern(categoryIndex, categories, category);
+            optionStart[size + 1] = start + options.size();
+            size++;
+            return this;
+        }
+
+        private static int intern(Map<String, Integer> index, List<String> values, String value) {
+            Integer id = index.get(value);
+            if (id == null) {
+                id = values.size();
+                index.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        public CardStore build() {
+            return new CardStore(this);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package triviamo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming CSV question bank reader
+// Row layout: category,difficulty,question,answer,option1,option2,...
+// Fields may be quoted ("...") with "" as an escaped quote; quoted fields may span lines.
+// A first row starting with "category" is treated as a header and skipped.
+public class CsvQuestionBankSource implements QuestionBankSource {
+    private static final int FIXED_COLUMNS = 4;
+
+    private final BufferedReader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int lineNumber = 0;
+
+    public CsvQuestionBankSource(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public TriviaCard next() throws IOException {
+        while (readRecord()) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue; // empty line
+            }
+            if (lineNumber == 1 && fields.get(0).trim().equalsIgnoreCase("category")) {
+                continue; // header row
+            }
+            if (fields.size() <= FIXED_COLUMNS) {
+                throw new IOException("Line " + lineNumber + ": expected category, difficulty, question, answer and options");
+            }
+            try {
+                return new TriviaCard(
+                    fields.get(2),
+                    fields.get(3),
+                    fields.subList(FIXED_COLUMNS, fields.size()),
+                    QuestionBankSource.parseDifficulty(fields.get(1)),
+                    fields.get(0)
+                );
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Line " + lineNumber + ": unknown difficulty '" + fields.get(1) + "'", e);
+            }
+        }
+        return null;
+    }
+
+    // Split the next record into fields; returns false at end of input
+    private boolean readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return false;
+        }
+        lineNumber++;
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Quoted field continues on the next line
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Line " + lineNumber + ": unterminated quoted field");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,187 @@
+package triviamo;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Daily-challenge decks: one deck per player per day, recomputed from (date, player) on demand
+//
+// Nothing is stored per player. The seed is a hash of the date and the player's name, and one
+// SplittableRandom made from it deals the whole deck, so the same player gets the same deck all
+// day on any server with the same bank, and dealing shares no generator or lock with any other
+// deal. Decks are stratified: the cards are spread over the categories as evenly as possible
+// (categories left over after whole rounds are picked at random), the difficulties are dealt in
+// turn from a random starting one, across the categories, and the cards of each
+// (category, difficulty) cell are drawn at random without replacement. The deck is shuffled
+// last so categories do not come in runs.
+public final class DailyChallenge {
+    private static final int DIFFICULTIES = TriviaCard.Difficulty.values().length;
+
+    private final CardStore store;
+    private final int deckSize;
+    private final int categories;
+    private final int[] cellStart; // cards of cell (category * DIFFICULTIES + difficulty) are
+    private final int[] cells;     // cells[cellStart[cell] .. cellStart[cell + 1]), in id order
+
+    public DailyChallenge(CardStore store, int deckSize) {
+        if (deckSize <= 0 || deckSize > store.size()) {
+            throw new IllegalArgumentException("Cannot deal " + deckSize + " of " + store.size() + " cards");
+        }
+        this.store = store;
+        this.deckSize = deckSize;
+        this.categories = store.categories().size();
+        this.cellStart = new int[categories * DIFFICULTIES + 1];
+        for (int card = 0; card < store.size(); card++) {
+            cellStart[cell(card) + 1]++;
+        }
+        for (int cell = 0; cell < categories * DIFFICULTIES; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        this.cells = new int[store.size()];
+        int[] next = Arrays.copyOf(cellStart, cellStart.length - 1);
+        for (int card = 0; card < store.size(); card++) {
+            cells[next[cell(card)]++] = card;
+        }
+    }
+
+    private int cell(int card) {
+        return store.categoryId(card) * DIFFICULTIES + store.difficulty(card).ordinal();
+    }
+
+    public int deckSize() {
+        return deckSize;
+    }
+
+    // Seed of a player's deck for a day; stable across JVMs and restarts
+    public static long seed(LocalDate date, String player) {
+        long hash = date.toEpochDay();
+        for (int i = 0; i < player.length(); i++) {
+            hash = hash * 31 + player.charAt(i);
+        }
+        return mix(hash ^ ((long) player.length() << 32));
+    }
+
+    public int[] deck(LocalDate date, String player) {
+        int[] deck = new int[deckSize];
+        deal(seed(date, player), deck);
+        return deck;
+    }
+
+    // A GameSession dealer that deals the player's deck of the day for every game
+    public GameSession.Dealer dealer(LocalDate date, String player) {
+        long seed = seed(date, player);
+        return (deck, random) -> deal(seed, deck);
+    }
+
+    // Fill deck (up to deckSize cards) with the deck of a seed
+    public void deal(long seed, int[] deck) {
+        if (deck.length > deckSize) {
+            throw new IllegalArgumentException("Daily decks have " + deckSize + " cards, not " + deck.length);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] perCategory = spread(deck.length, random);
+        // One difficulty cycle runs through all categories, so the deck as a whole is mixed too
+        int difficulty = random.nextInt(DIFFICULTIES);
+        int[] perDifficulty = new int[DIFFICULTIES];
+        int dealt = 0;
+        for (int category = 0; category < categories; category++) {
+            if (perCategory[category] == 0) {
+                continue;
+            }
+            Arrays.fill(perDifficulty, 0);
+            for (int slot = 0; slot < perCategory[category]; slot++) {
+                while (perDifficulty[difficulty] == cellSize(category * DIFFICULTIES + difficulty)) {
+                    difficulty = (difficulty + 1) % DIFFICULTIES;
+                }
+                perDifficulty[difficulty]++;
+                difficulty = (difficulty + 1) % DIFFICULTIES;
+            }
+            for (int level = 0; level < DIFFICULTIES; level++) {
+                dealt = draw(category * DIFFICULTIES + level, perDifficulty[level], deck, dealt, random);
+            }
+        }
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+        }
+    }
+
+    // Cards per category: every category with cards left gets one per round, and the last,
+    // partial round goes to categories picked at random
+    private int[] spread(int slots, SplittableRandom random) {
+        int[] given = new int[categories];
+        int left = slots;
+        while (left > 0) {
+            int open = 0;
+            for (int category = 0; category < categories; category++) {
+                if (given[category] < categorySize(category)) {
+                    open++;
+                }
+            }
+            if (left >= open) {
+                for (int category = 0; category < categories; category++) {
+                    if (given[category] < categorySize(category)) {
+                        given[category]++;
+                    }
+                }
+                left -= open;
+                continue;
+            }
+            // Floyd's sampling of `left` distinct ranks among the open categories
+            int[] ranks = new int[left];
+            for (int j = open - left, n = 0; j < open; j++, n++) {
+                int rank = random.nextInt(j + 1);
+                ranks[n] = contains(ranks, 0, n, rank) ? j : rank;
+            }
+            Arrays.sort(ranks);
+            for (int category = 0, rank = 0, n = 0; n < left; category++) {
+                if (given[category] < categorySize(category)) {
+                    if (ranks[n] == rank) {
+                        given[category]++;
+                        n++;
+                    }
+                    rank++;
+                }
+            }
+            left = 0;
+        }
+        return given;
+    }
+
+    private int categorySize(int category) {
+        return cellStart[(category + 1) * DIFFICULTIES] - cellStart[category * DIFFICULTIES];
+    }
+
+    private int cellSize(int cell) {
+        return cellStart[cell + 1] - cellStart[cell];
+    }
+
+    // Floyd's sampling of count distinct cards of one cell into deck[at ..]; returns the next free slot
+    private int draw(int cell, int count, int[] deck, int at, SplittableRandom random) {
+        int from = cellStart[cell];
+        int size = cellSize(cell);
+        for (int j = size - count, n = at; j < size; j++, n++) {
+            int pick = cells[from + random.nextInt(j + 1)];
+            deck[n] = contains(deck, at, n, pick) ? cells[from + j] : pick;
+        }
+        return at + count;
+    }
+
+    private static boolean contains(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,267 @@
+package triviamo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Hashed timing wheel: one thread serves the deadlines of every session
+//
+// Time is cut into ticks; each tick owns one bucket of a circular wheel, and a
+// deadline lands in the bucket of its tick (with a round count when it is more
+// than one revolution away). Scheduling and cancelling are O(1): new and
+// cancelled deadlines are handed to the wheel thread through queues and linked
+// into / unlinked from their bucket there, so no lock is shared with callers.
+// Tasks run on the wheel thread and must be short; a session tick is a few field updates.
+public final class DeadlineWheel implements AutoCloseable {
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final VarHandle STATE;
+    private static final AtomicInteger RUNNING_WHEELS = new AtomicInteger();
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class SharedHolder {
+        static final DeadlineWheel SHARED = new DeadlineWheel(10, TimeUnit.MILLISECONDS, 1024);
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Thread worker;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean running = true;
+    private long tick = 0;
+
+    // Drift statistics, written only by the wheel thread
+    private volatile long fired = 0;
+    private volatile long totalDriftNanos = 0;
+    private volatile long maxDriftNanos = 0;
+
+    // Handle for one scheduled deadline
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private Timeout prev;
+        private Timeout next;
+        private Bucket bucket;
+        private volatile int state = WAITING;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // Returns false if the deadline already fired or was cancelled
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        public long deadlineNanos() {
+            return deadlineNanos;
+        }
+    }
+
+    // Doubly linked list of the deadlines that fall on one tick
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    public DeadlineWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, "triviamo-deadlines");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // Process-wide wheel with 10 ms ticks, shared by every game session
+    public static DeadlineWheel shared() {
+        return SharedHolder.SHARED;
+    }
+
+    // Run a task on the wheel thread at a System.nanoTime() deadline
+    public Timeout scheduleAt(Runnable task, long deadlineNanos) {
+        if (!running) {
+            throw new IllegalStateException("Deadline wheel is closed");
+        }
+        Timeout timeout = new Timeout(task, deadlineNanos);
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduleAt(task, System.nanoTime() + unit.toNanos(delay));
+    }
+
+    // Deadlines scheduled but not yet fired or cancelled
+    public int pendingDeadlines() {
+        return pending.get();
+    }
+
+    public long firedCount() {
+        return fired;
+    }
+
+    // How late deadlines fire on average, measured from the deadline to the start of the task
+    public long averageDriftNanos() {
+        long count = fired;
+        return count == 0 ? 0 : totalDriftNanos / count;
+    }
+
+    public long maxDriftNanos() {
+        return maxDriftNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DeadlineWheel[pending=%d, fired=%d, avgDrift=%.2f ms, maxDrift=%.2f ms]",
+            pendingDeadlines(), firedCount(), averageDriftNanos() / 1e6, maxDriftNanos() / 1e6);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    // Wheel threads currently running in this process
+    public static int runningWheels() {
+        return RUNNING_WHEELS.get();
+    }
+
+    private void run() {
+        RUNNING_WHEELS.incrementAndGet();
+        try {
+            while (running) {
+                long tickEnd = startNanos + (tick + 1) * tickNanos;
+                long now;
+                while ((now = System.nanoTime()) < tickEnd && running) {
+                    LockSupport.parkNanos(this, tickEnd - now);
+                }
+                dropCancelled();
+                transferAdded();
+                expire(wheel[(int) (tick & mask)]);
+                tick++;
+            }
+        } finally {
+            RUNNING_WHEELS.decrementAndGet();
+        }
+    }
+
+    private void dropCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state != WAITING) {
+                continue;
+            }
+            long dueTick = Math.max((timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos, tick);
+            timeout.remainingRounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                bucket.remove(timeout);
+                if (STATE.compareAndSet(timeout, WAITING, EXPIRED)) {
+                    pending.decrementAndGet();
+                    fire(timeout);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        long drift = Math.max(0, System.nanoTime() - timeout.deadlineNanos);
+        fired++;
+        totalDriftNanos += drift;
+        if (drift > maxDriftNanos) {
+            maxDriftNanos = drift;
+        }
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            System.err.println("Deadline task failed: " + e);
+        }
+    }
+}
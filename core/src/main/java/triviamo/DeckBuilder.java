@@ -0,0 +1,105 @@
+package triviamo;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Draws random decks from a bank without shuffling the whole bank
+//
+// A deck of k cards is the first k steps of a Fisher-Yates shuffle over the
+// matching cards. The swaps are kept in a small hash map instead of a copy of
+// the pool, so a draw costs O(k) time and memory however large the bank is.
+public final class DeckBuilder {
+    private final CardIndex index;
+
+    public DeckBuilder(CardIndex index) {
+        this.index = index;
+    }
+
+    // Number of cards a filter can draw from
+    public int available(CardFilter filter) {
+        return index.count(filter);
+    }
+
+    // A new deck of up to size random cards matching the filter
+    public int[] deal(CardFilter filter, int size, RandomGenerator random) {
+        int[] deck = new int[Math.min(size, available(filter))];
+        dealInto(filter, deck, random);
+        return deck;
+    }
+
+    // Fill deck with distinct random cards matching the filter
+    public void dealInto(CardFilter filter, int[] deck, RandomGenerator random) {
+        if (filter.isAny()) {
+            sample(null, index.store().size(), deck, random);
+        } else {
+            int[] pool = index.matching(filter);
+            sample(pool, pool.length, deck, random);
+        }
+    }
+
+    // A GameSession dealer that draws a fresh deck from the filter for every game
+    public GameSession.Dealer dealer(CardFilter filter) {
+        return (deck, random) -> dealInto(filter, deck, random);
+    }
+
+    // Dealer over every card of a bank; needs no index
+    public static GameSession.Dealer anyCard(int bankSize) {
+        return (deck, random) -> sample(null, bankSize, deck, random);
+    }
+
+    // Partial Fisher-Yates over pool[0..n) (or 0..n when pool is null)
+    private static void sample(int[] pool, int n, int[] deck, RandomGenerator random) {
+        if (deck.length > n) {
+            throw new IllegalArgumentException("Only " + n + " cards match, cannot deal " + deck.length);
+        }
+        SparseSwaps swaps = new SparseSwaps(deck.length);
+        for (int i = 0; i < deck.length; i++) {
+            int j = i + random.nextInt(n - i);
+            int picked = swaps.get(j);
+            swaps.put(j, swaps.get(i));
+            deck[i] = pool == null ? picked : pool[picked];
+        }
+    }
+
+    // The positions a partial shuffle has touched, as an open-addressing int map;
+    // untouched positions hold their own index
+    private static final class SparseSwaps {
+        private final int[] keys;
+        private final int[] values;
+        private final int mask;
+
+        SparseSwaps(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 4) - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1);
+        }
+
+        int get(int key) {
+            for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == -1) {
+                    return key;
+                }
+            }
+        }
+
+        void put(int key, int value) {
+            for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key || keys[slot] == -1) {
+                    keys[slot] = key;
+                    values[slot] = value;
+                    return;
+                }
+            }
+        }
+
+        private int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
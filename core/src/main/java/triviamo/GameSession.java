@@ -0,0 +1,367 @@
+package triviamo;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.concurrent.TimeUnit;
+
+// UI-independent game engine: one player working through one deck
+//
+// The session is a small state machine driven by explicit events:
+//   start   READY/FINISHED -> QUESTION   (deals a new deck through the session's Dealer)
+//   answer  QUESTION       -> REVEALED
+//   timeout QUESTION       -> REVEALED   (also fired by tick() when time runs out)
+//   next    REVEALED       -> QUESTION
+//   finish  any            -> FINISHED
+// Events that do not fit the current state throw IllegalStateException.
+// Clients (the Swing GUI, a server, a load generator) observe it through a Listener.
+// Event methods are synchronized, so a timer thread and a client thread can both
+// drive the same session; listeners are called while the session lock is held.
+// With useTimer() the session counts itself down on a shared DeadlineWheel;
+// otherwise the client calls tick() once a second.
+public final class GameSession {
+    public static final int DEFAULT_QUESTION_SECONDS = 30;
+    // Cards per game when no deck is given (the size of the built-in deck)
+    public static final int DEFAULT_DECK_SIZE = 12;
+
+    public enum State { READY, QUESTION, REVEALED, FINISHED }
+
+    // Callbacks for clients; all methods are optional
+    public interface Listener {
+        default void questionShown(GameSession session, int position, int card) {
+        }
+
+        default void ticked(GameSession session, int secondsLeft) {
+        }
+
+        default void answered(GameSession session, int position, int option, boolean correct) {
+        }
+
+        default void timedOut(GameSession session, int position) {
+        }
+
+        default void finished(GameSession session) {
+        }
+
+        // A listener that calls this one, then the other
+        default Listener andThen(Listener other) {
+            Listener first = this;
+            return new Listener() {
+                @Override
+                public void questionShown(GameSession session, int position, int card) {
+                    first.questionShown(session, position, card);
+                    other.questionShown(session, position, card);
+                }
+
+                @Override
+                public void ticked(GameSession session, int secondsLeft) {
+                    first.ticked(session, secondsLeft);
+                    other.ticked(session, secondsLeft);
+                }
+
+                @Override
+                public void answered(GameSession session, int position, int option, boolean correct) {
+                    first.answered(session, position, option, correct);
+                    other.answered(session, position, option, correct);
+                }
+
+                @Override
+                public void timedOut(GameSession session, int position) {
+                    first.timedOut(session, position);
+                    other.timedOut(session, position);
+                }
+
+                @Override
+                public void finished(GameSession session) {
+                    first.finished(session);
+                    other.finished(session);
+                }
+            };
+        }
+    }
+
+    // Supplies the cards of each new game
+    public interface Dealer {
+        // Fill deck (whose length is the deck size) with the card ids to play, in play order
+        void deal(int[] deck, RandomGenerator random);
+
+        // The card at position was answered (or timed out); an adaptive dealer may replace
+        // the cards after it, but never the ones already played
+        default void played(int[] deck, int position, boolean correct, RandomGenerator random) {
+        }
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+    // Replays the cards already in the deck in a new order
+    private static final Dealer RESHUFFLE = (deck, random) -> {
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+        }
+    };
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final CardStore store;
+    private final int[] deck; // card ids in play order
+    private final Dealer dealer;
+    private final AnswerSheet answers;
+    private final ScoreTally tally;
+    private final int questionSeconds;
+    private final Random random;
+    private Listener listener = NO_LISTENER;
+    private DeadlineWheel wheel;               // null when the client drives tick()
+    private DeadlineWheel.Timeout countdown;   // next scheduled tick of the current question
+    private long countdownGeneration;          // bumped whenever the countdown is replaced or cancelled
+    private long nextTickNanos;
+    private State state = State.READY;
+    private int position = 0;
+    private int timeLeft;
+
+    // A game of up to DEFAULT_DECK_SIZE random cards from the whole store
+    public GameSession(CardStore store) {
+        this(store, Math.min(store.size(), DEFAULT_DECK_SIZE), DeckBuilder.anyCard(store.size()),
+            DEFAULT_QUESTION_SECONDS, new Random());
+    }
+
+    // A session over the given card ids; the deck is reshuffled on every start()
+    public GameSession(CardStore store, int[] deck, int questionSeconds, Random random) {
+        this(store, deck.clone(), RESHUFFLE, questionSeconds, random);
+    }
+
+    // A session whose dealer deals deckSize cards for every game
+    public GameSession(CardStore store, int deckSize, Dealer dealer, int questionSeconds, Random random) {
+        this(store, new int[deckSize], dealer, questionSeconds, random);
+    }
+
+    private GameSession(CardStore store, int[] deck, Dealer dealer, int questionSeconds, Random random) {
+        if (deck.length == 0) {
+            throw new IllegalArgumentException("A game needs at least one card");
+        }
+        this.store = store;
+        this.deck = deck;
+        this.dealer = dealer;
+        this.answers = new AnswerSheet(deck.length);
+        this.tally = new ScoreTally(store);
+        this.questionSeconds = questionSeconds;
+        this.random = random;
+        this.timeLeft = questionSeconds;
+    }
+
+    // A session over a deck decoded by SessionSnapshot; the deck is used as is
+    static GameSession restored(CardStore store, int[] deck, Dealer dealer, int questionSeconds, Random random) {
+        return new GameSession(store, deck, dealer, questionSeconds, random);
+    }
+
+    // Put a restored session where its snapshot was taken; its answers are already in place, and
+    // the tally is rebuilt from them. A QUESTION counts down again from timeLeft once a timer
+    // or the client's tick() drives it.
+    synchronized void resume(State state, int position, int timeLeft) {
+        this.state = state;
+        this.position = position;
+        this.timeLeft = timeLeft;
+        tally.reset();
+        if (state != State.READY) {
+            for (int p = 0; p <= position; p++) {
+                tally.asked(deck[p]);
+                if (answers.isAnswered(p)) {
+                    tally.answered(deck[p], store.isCorrect(deck[p], answers.chosenOption(p)));
+                }
+            }
+        }
+    }
+
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    // Add a listener after the ones already set; they are called in the order added
+    public synchronized void addListener(Listener listener) {
+        this.listener = this.listener == NO_LISTENER ? listener : this.listener.andThen(listener);
+    }
+
+    // Let a deadline wheel drive the countdown instead of the client calling tick()
+    public synchronized void useTimer(DeadlineWheel wheel) {
+        cancelCountdown();
+        this.wheel = wheel;
+        if (wheel != null && state == State.QUESTION) {
+            scheduleCountdown(System.nanoTime());
+        }
+    }
+
+    // Event: deal a shuffled deck and show the first question (also used to play again)
+    public synchronized void start() {
+        if (state != State.READY && state != State.FINISHED) {
+            throw new IllegalStateException("Game is already running");
+        }
+        dealer.deal(deck, random);
+        answers.reset();
+        tally.reset();
+        position = 0;
+        showQuestion();
+    }
+
+    // Event: answer the current question with an option index of the current card
+    public synchronized boolean answer(int option) {
+        requireState(State.QUESTION, "No question is waiting for an answer");
+        int card = deck[position];
+        if (option < 0 || option >= store.optionCount(card)) {
+            throw new IllegalArgumentException("Card has no option " + option);
+        }
+        cancelCountdown();
+        answers.record(position, option);
+        boolean correct = store.isCorrect(card, option);
+        tally.answered(card, correct);
+        dealer.played(deck, position, correct, random);
+        state = State.REVEALED;
+        listener.answered(this, position, option, correct);
+        return correct;
+    }
+
+    // Event: the time for the current question ran out
+    public synchronized void timeout() {
+        requireState(State.QUESTION, "No question is waiting for an answer");
+        cancelCountdown();
+        answers.record(position, AnswerSheet.NO_OPTION);
+        tally.answered(deck[position], false);
+        dealer.played(deck, position, false, random);
+        timeLeft = 0;
+        state = State.REVEALED;
+        listener.timedOut(this, position);
+    }
+
+    // Count down one second of the current question; times out when it reaches zero
+    // Ticks outside of a question are ignored, so a late timer cannot fail
+    public synchronized void tick() {
+        if (state != State.QUESTION) {
+            return;
+        }
+        timeLeft--;
+        listener.ticked(this, timeLeft);
+        if (timeLeft <= 0) {
+            timeout();
+        }
+    }
+
+    // Wheel callback; ticks are scheduled against fixed deadlines so late ticks do not add up.
+    // A tick can fire and then wait for the lock while the client answers and moves on; by then
+    // its countdown has been cancelled or replaced, so it must not count down the new question.
+    private synchronized void timerTick(long generation) {
+        if (generation != countdownGeneration || countdown == null) {
+            return;
+        }
+        countdown = null;
+        tick();
+        if (state == State.QUESTION && wheel != null) {
+            scheduleCountdown(nextTickNanos);
+        }
+    }
+
+    private void scheduleCountdown(long fromNanos) {
+        nextTickNanos = fromNanos + SECOND_NANOS;
+        long generation = ++countdownGeneration;
+        countdown = wheel.scheduleAt(() -> timerTick(generation), nextTickNanos);
+    }
+
+    private void cancelCountdown() {
+        countdownGeneration++;
+        if (countdown != null) {
+            countdown.cancel();
+            countdown = null;
+        }
+    }
+
+    // Event: move on to the next question
+    public synchronized void next() {
+        requireState(State.REVEALED, "The current question has not been answered");
+        if (!hasNext()) {
+            throw new IllegalStateException("No more questions in this deck");
+        }
+        position++;
+        showQuestion();
+    }
+
+    // Event: end the game
+    public synchronized void finish() {
+        if (state == State.FINISHED) {
+            return;
+        }
+        cancelCountdown();
+        state = State.FINISHED;
+        listener.finished(this);
+    }
+
+    private void showQuestion() {
+        state = State.QUESTION;
+        timeLeft = questionSeconds;
+        tally.asked(deck[position]);
+        if (wheel != null) {
+            cancelCountdown();
+            scheduleCountdown(System.nanoTime());
+        }
+        listener.questionShown(this, position, deck[position]);
+    }
+
+    private void requireState(State expected, String message) {
+        if (state != expected) {
+            throw new IllegalStateException(message + " (state " + state + ")");
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    // Deck position of the current question
+    public synchronized int position() {
+        return position;
+    }
+
+    // Card id of the current question
+    public synchronized int currentCard() {
+        return deck[position];
+    }
+
+    public synchronized boolean hasNext() {
+        return position < deck.length - 1;
+    }
+
+    public synchronized int score() {
+        return tally.scored();
+    }
+
+    public synchronized int correctCount() {
+        return tally.correct();
+    }
+
+    public synchronized int timeLeft() {
+        return timeLeft;
+    }
+
+    // Card id dealt at a deck position
+    public synchronized int cardAt(int position) {
+        return deck[position];
+    }
+
+    public int deckSize() {
+        return deck.length;
+    }
+
+    public int questionSeconds() {
+        return questionSeconds;
+    }
+
+    public CardStore store() {
+        return store;
+    }
+
+    public AnswerSheet answers() {
+        return answers;
+    }
+
+    // Running score breakdown of the current game; updated under the session lock
+    public ScoreTally tally() {
+        return tally;
+    }
+}
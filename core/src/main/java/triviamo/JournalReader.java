@@ -0,0 +1,195 @@
+package triviamo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sequential reader over a SessionJournal directory
+//
+// Segments are mapped read-only one at a time and records are decoded in place:
+// next() moves to the following event and the accessors read its fields, so a
+// replay allocates nothing per event and runs at the speed of the page cache.
+// Reading stops at the first empty or damaged slot of each segment.
+//
+// Usage: java -cp triviamo.jar triviamo.JournalReader journal-dir
+public final class JournalReader implements Closeable {
+    private final List<Path> segments;
+    private int nextSegment = 0;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int offset;
+    private long records = 0;
+
+    private long sessionId;
+    private long timeMillis;
+    private int position;
+    private int card;
+    private int score;
+    private SessionJournal.Event event;
+    private int option;
+    private boolean correct;
+
+    public JournalReader(Path directory) throws IOException {
+        this.segments = SessionJournal.segments(directory);
+    }
+
+    // Advance to the next event; false at the end of the journal
+    public boolean next() throws IOException {
+        while (true) {
+            if (segment != null && offset + SessionJournal.RECORD_SIZE <= segment.capacity()
+                    && SessionJournal.isValid(segment, offset)) {
+                decode();
+                offset += SessionJournal.RECORD_SIZE;
+                records++;
+                return true;
+            }
+            if (nextSegment == segments.size()) {
+                return false;
+            }
+            openSegment(segments.get(nextSegment++));
+        }
+    }
+
+    private void decode() {
+        sessionId = segment.getLong(offset);
+        timeMillis = segment.getLong(offset + 8);
+        long cards = segment.getLong(offset + 16);
+        position = (int) cards;
+        card = (int) (cards >>> 32);
+        long last = segment.getLong(offset + 24);
+        score = (int) last;
+        event = SessionJournal.Event.of((int) (last >>> 32) & 0xFF);
+        option = ((int) (last >>> 40) & 0xFF) - 1;
+        correct = ((last >>> 48) & 1) != 0;
+    }
+
+    private void openSegment(Path path) throws IOException {
+        close();
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        if (segment.capacity() < SessionJournal.HEADER_SIZE || segment.getInt(0) != SessionJournal.MAGIC) {
+            throw new IOException(path + " is not a Triviamo journal segment (bad magic)");
+        }
+        offset = SessionJournal.HEADER_SIZE;
+    }
+
+    public long sessionId() {
+        return sessionId;
+    }
+
+    public long timeMillis() {
+        return timeMillis;
+    }
+
+    public SessionJournal.Event event() {
+        return event;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int card() {
+        return card;
+    }
+
+    // Chosen option, or AnswerSheet.NO_OPTION
+    public int option() {
+        return option;
+    }
+
+    public boolean correct() {
+        return correct;
+    }
+
+    // Session score after this event
+    public int score() {
+        return score;
+    }
+
+    // Events read so far
+    public long records() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            segment = null;
+        }
+    }
+
+    // Where a journaled session stood after its last event
+    public record SessionState(long sessionId, int games, int position, int score, int answered, int correct,
+                               boolean finished) {
+    }
+
+    // Replay a journal into the latest state of every session in it
+    public static Map<Long, SessionState> sessions(Path directory) throws IOException {
+        Map<Long, SessionState> sessions = new HashMap<>();
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                SessionState state = sessions.get(reader.sessionId());
+                boolean newGame = reader.event() == SessionJournal.Event.SHOWN && reader.position() == 0;
+                int games = state == null ? 0 : state.games();
+                int answered = state == null || newGame ? 0 : state.answered();
+                int correct = state == null || newGame ? 0 : state.correct();
+                switch (reader.event()) {
+                    case ANSWERED -> {
+                        answered++;
+                        correct += reader.correct() ? 1 : 0;
+                    }
+                    case TIMED_OUT -> answered++;
+                    default -> {
+                    }
+                }
+                sessions.put(reader.sessionId(), new SessionState(reader.sessionId(), newGame ? games + 1 : games,
+                    reader.position(), reader.score(), answered, correct,
+                    reader.event() == SessionJournal.Event.FINISHED));
+            }
+        }
+        return sessions;
+    }
+
+    // Replay a journal and print event counts and replay throughput
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java triviamo.JournalReader journal-dir");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        long[] counts = new long[SessionJournal.Event.values().length];
+        long correct = 0;
+        long records;
+        try (JournalReader reader = new JournalReader(Path.of(args[0]))) {
+            while (reader.next()) {
+                counts[reader.event().ordinal()]++;
+                if (reader.correct()) {
+                    correct++;
+                }
+            }
+            records = reader.records();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long answered = counts[SessionJournal.Event.ANSWERED.ordinal()];
+        System.out.printf("%d events in %.2f s (%.0f events/sec, %.0f MB/s)%n", records, seconds,
+            records / seconds, records * SessionJournal.RECORD_SIZE / seconds / (1 << 20));
+        for (SessionJournal.Event event : SessionJournal.Event.values()) {
+            System.out.printf("  %-9s %d%n", event, counts[event.ordinal()]);
+        }
+        System.out.printf("  accuracy  %.1f%%%n", answered == 0 ? 0 : correct * 100.0 / answered);
+        long sessionsStart = System.nanoTime();
+        Map<Long, SessionState> sessions = sessions(Path.of(args[0]));
+        System.out.printf("%d sessions rebuilt in %.2f s%n", sessions.size(), (System.nanoTime() - sessionsStart) / 1e9);
+    }
+}
@@ -0,0 +1,187 @@
+package triviamo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming JSON-lines question bank reader, one card object per line:
+// {"category":"Science","difficulty":"EASY","question":"...","answer":"...","options":["...","..."]}
+// Only the flat card shape is understood; unknown keys with string, number or boolean values are skipped.
+public class JsonLinesQuestionBankSource implements QuestionBankSource {
+    private final BufferedReader reader;
+    private final List<String> options = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+    private String line;
+    private int pos;
+    private int lineNumber = 0;
+
+    public JsonLinesQuestionBankSource(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public TriviaCard next() throws IOException {
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            pos = 0;
+            skipWhitespace();
+            if (pos == line.length()) {
+                continue; // blank line
+            }
+            return parseCard();
+        }
+        return null;
+    }
+
+    private TriviaCard parseCard() throws IOException {
+        String question = null;
+        String answer = null;
+        String difficulty = null;
+        String category = null;
+        options.clear();
+
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                String key = readString();
+                expect(':');
+                skipWhitespace();
+                switch (key) {
+                    case "question" -> question = readString();
+                    case "answer" -> answer = readString();
+                    case "difficulty" -> difficulty = readString();
+                    case "category" -> category = readString();
+                    case "options" -> readOptions();
+                    default -> skipScalar();
+                }
+                skipWhitespace();
+                char c = nextChar();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+        if (question == null || answer == null || difficulty == null || category == null || options.isEmpty()) {
+            throw error("card needs question, answer, options, difficulty and category");
+        }
+        try {
+            return new TriviaCard(question, answer, options, QuestionBankSource.parseDifficulty(difficulty), category);
+        } catch (IllegalArgumentException e) {
+            throw error("unknown difficulty '" + difficulty + "'");
+        }
+    }
+
+    private void readOptions() throws IOException {
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return;
+        }
+        while (true) {
+            options.add(readString());
+            skipWhitespace();
+            char c = nextChar();
+            if (c == ']') {
+                return;
+            }
+            if (c != ',') {
+                throw error("expected ',' or ']'");
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            char c = nextChar();
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c != '\\') {
+                text.append(c);
+                continue;
+            }
+            char escaped = nextChar();
+            switch (escaped) {
+                case '"', '\\', '/' -> text.append(escaped);
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > line.length()) {
+                        throw error("truncated \\u escape");
+                    }
+                    try {
+                        text.append((char) Integer.parseInt(line, pos, pos + 4, 16));
+                    } catch (NumberFormatException e) {
+                        throw error("bad \\u escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw error("bad escape '\\" + escaped + "'");
+            }
+        }
+    }
+
+    // Skip an ignored value (string, number, true/false/null)
+    private void skipScalar() throws IOException {
+        if (peek() == '"') {
+            readString();
+            return;
+        }
+        int start = pos;
+        while (pos < line.length() && ",} \t".indexOf(line.charAt(pos)) < 0) {
+            pos++;
+        }
+        if (pos == start) {
+            throw error("unsupported value");
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        skipWhitespace();
+        if (nextChar() != expected) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char peek() throws IOException {
+        if (pos >= line.length()) {
+            throw error("unexpected end of line");
+        }
+        return line.charAt(pos);
+    }
+
+    private char nextChar() throws IOException {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Line " + lineNumber + ", column " + (pos + 1) + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
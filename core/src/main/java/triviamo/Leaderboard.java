@@ -0,0 +1,246 @@
+package triviamo;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide best scores per player, for today and for all time
+//
+// Sessions submit live and final scores from any thread; a player's entry only
+// ever moves up. There is no global lock: each player's best is an AtomicInteger
+// raised by compare-and-set, the ranking is a concurrent skip list (top-K in
+// O(log n + K)), and the number of players at each score is a Fenwick tree of
+// atomic counters, so rank-of-player is O(log n) too. Scores that do not beat
+// the player's best return after one read. The daily window starts empty at
+// midnight in the clock's time zone.
+public final class Leaderboard {
+    // Scores above this are ranked as this score
+    public static final int MAX_SCORE = (1 << 26) - 1;
+
+    public enum Window { DAILY, ALL_TIME }
+
+    // A player's place; players with equal scores share a rank
+    public record Standing(String player, int score, int rank) {
+    }
+
+    private static final class SharedHolder {
+        static final Leaderboard SHARED = new Leaderboard(Clock.systemDefaultZone());
+    }
+
+    private final Clock clock;
+    private final Board allTime = new Board(Long.MAX_VALUE);
+    private final AtomicReference<Board> today;
+    private final LongAdder submissions = new LongAdder();
+
+    public Leaderboard(Clock clock) {
+        this.clock = clock;
+        this.today = new AtomicReference<>(new Board(endOfDay(clock.millis())));
+    }
+
+    // The leaderboard every session in this process reports to
+    public static Leaderboard shared() {
+        return SharedHolder.SHARED;
+    }
+
+    // Offer a score (live or final); it counts if it beats the player's best in a window
+    public void submit(String player, int score) {
+        if (score < 0) {
+            throw new IllegalArgumentException("Negative score: " + score);
+        }
+        int clamped = Math.min(score, MAX_SCORE);
+        submissions.increment();
+        allTime.offer(player, clamped);
+        daily().offer(player, clamped);
+    }
+
+    // A player's best score in a window, or -1 if they have none
+    public int best(Window window, String player) {
+        AtomicInteger best = board(window).best.get(player);
+        return best == null ? -1 : best.get();
+    }
+
+    // 1 for the leader; 0 if the player has no score in the window
+    public int rank(Window window, String player) {
+        Board board = board(window);
+        AtomicInteger best = board.best.get(player);
+        int score = best == null ? -1 : best.get();
+        return score < 0 ? 0 : board.counts.countAbove(score) + 1;
+    }
+
+    // The k best players, highest first
+    public List<Standing> top(Window window, int k) {
+        List<Standing> standings = new ArrayList<>(Math.min(k, 64));
+        int rank = 0;
+        int previous = -1;
+        for (Ranked ranked : board(window).ranking) {
+            if (standings.size() == k) {
+                break;
+            }
+            if (ranked.score != previous) {
+                rank = standings.size() + 1;
+                previous = ranked.score;
+            }
+            standings.add(new Standing(ranked.player, ranked.score, rank));
+        }
+        return standings;
+    }
+
+    public int players(Window window) {
+        return board(window).best.size();
+    }
+
+    // Scores submitted since the leaderboard was created
+    public long submissions() {
+        return submissions.sum();
+    }
+
+    // Session listener that submits the player's running score after each correct answer
+    // and the final score when the game ends
+    public GameSession.Listener reporter(String player) {
+        return new GameSession.Listener() {
+            @Override
+            public void answered(GameSession session, int position, int option, boolean correct) {
+                if (correct) {
+                    submit(player, session.score());
+                }
+            }
+
+            @Override
+            public void finished(GameSession session) {
+                submit(player, session.score());
+            }
+        };
+    }
+
+    private Board board(Window window) {
+        return window == Window.ALL_TIME ? allTime : daily();
+    }
+
+    private Board daily() {
+        Board board = today.get();
+        long now = clock.millis();
+        if (now < board.endMillis) {
+            return board;
+        }
+        Board next = new Board(endOfDay(now));
+        Board witness = today.compareAndExchange(board, next);
+        return witness == board ? next : witness;
+    }
+
+    private long endOfDay(long millis) {
+        ZoneId zone = clock.getZone();
+        LocalDate day = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        return day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("leaderboard: %d players today, %d all time, %d scores submitted",
+            players(Window.DAILY), players(Window.ALL_TIME), submissions());
+    }
+
+    private record Ranked(int score, String player) {
+        static final Comparator<Ranked> ORDER =
+            Comparator.comparingInt(Ranked::score).reversed().thenComparing(Ranked::player);
+    }
+
+    // One window: best score per player, the ranking and the per-score counts
+    private static final class Board {
+        final long endMillis;
+        final Map<String, AtomicInteger> best = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(Ranked.ORDER);
+        final ScoreCounts counts = new ScoreCounts(MAX_SCORE);
+
+        Board(long endMillis) {
+            this.endMillis = endMillis;
+        }
+
+        void offer(String player, int score) {
+            AtomicInteger entry = best.get(player);
+            if (entry == null) {
+                entry = best.computeIfAbsent(player, p -> new AtomicInteger(-1));
+            }
+            int old;
+            do {
+                old = entry.get();
+                if (score <= old) {
+                    return;
+                }
+            } while (!entry.compareAndSet(old, score));
+            // Only the thread that raised the entry from old moves it in the ranking
+            if (old >= 0) {
+                ranking.remove(new Ranked(old, player));
+                counts.add(old, -1);
+            }
+            counts.add(score, 1);
+            Ranked ranked = new Ranked(score, player);
+            ranking.add(ranked);
+            // A faster thread may have raised it again and already tried to remove this score
+            if (entry.get() != score) {
+                ranking.remove(ranked);
+            }
+        }
+    }
+
+    // Players per score as a two-level Fenwick tree: one tree over pages of 4096
+    // scores, and one tree inside each page, allocated when a score first lands there
+    private static final class ScoreCounts {
+        private static final int PAGE_BITS = 12;
+        private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+        private final AtomicIntegerArray pageTree;
+        private final AtomicReferenceArray<AtomicIntegerArray> pages;
+
+        ScoreCounts(int maxScore) {
+            int pageCount = (maxScore >>> PAGE_BITS) + 1;
+            this.pageTree = new AtomicIntegerArray(pageCount + 1);
+            this.pages = new AtomicReferenceArray<>(pageCount);
+        }
+
+        void add(int score, int delta) {
+            int page = score >>> PAGE_BITS;
+            AtomicIntegerArray tree = pages.get(page);
+            if (tree == null) {
+                pages.compareAndSet(page, null, new AtomicIntegerArray(PAGE_SIZE + 1));
+                tree = pages.get(page);
+            }
+            for (int i = (score & (PAGE_SIZE - 1)) + 1; i <= PAGE_SIZE; i += i & -i) {
+                tree.getAndAdd(i, delta);
+            }
+            for (int i = page + 1; i < pageTree.length(); i += i & -i) {
+                pageTree.getAndAdd(i, delta);
+            }
+        }
+
+        // Players with a higher score (a moment-in-time estimate while scores move)
+        int countAbove(int score) {
+            int page = score >>> PAGE_BITS;
+            int atMost = prefix(pageTree, page);
+            AtomicIntegerArray tree = pages.get(page);
+            if (tree != null) {
+                atMost += prefix(tree, (score & (PAGE_SIZE - 1)) + 1);
+            }
+            return Math.max(0, prefix(pageTree, pageTree.length() - 1) - atMost);
+        }
+
+        private static int prefix(AtomicIntegerArray tree, int n) {
+            int sum = 0;
+            for (int i = n; i > 0; i -= i & -i) {
+                sum += tree.get(i);
+            }
+            return sum;
+        }
+    }
+}
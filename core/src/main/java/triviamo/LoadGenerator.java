@@ -0,0 +1,225 @@
+package triviamo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Simulated players for load testing the headless game engine
+//
+// Each player plays full decks back to back: for every card it "thinks" for a
+// random time, then answers (correctly with the configured accuracy) or lets the
+// question time out. A player who thinks for longer than the question lasts finds it
+// already timed out by the DeadlineWheel, which counts as a timeout too. Grading
+// latency is the time spent in GameSession.answer(); delivery latency is the time
+// to deal a question (start/next) and read its text and options. Every player reports live and final scores to the shared Leaderboard,
+// so grading latency includes the leaderboard update, as well as the runtime Metrics
+// update. Players run on virtual threads where the JDK has them.
+//
+// Usage: java -cp triviamo.jar triviamo.LoadGenerator [--players 1000] [--games 10]
+//        [--deck 12] [--think-ms 0] [--accuracy 0.7] [--timeouts 0.05] [--seed 1]
+//        [--journal dir] [--adaptive] [bank]
+// With --adaptive every player's cards are picked by an AdaptiveSelector from their Elo rating.
+public class LoadGenerator {
+    private final CardStore store;
+    private final int players;
+    private final int gamesPerPlayer;
+    private final int deckSize;
+    private final long thinkMillis;
+    private final double accuracy;
+    private final double timeoutRate;
+    private final long seed;
+    private final SessionJournal journal; // null when not journaling
+    private final AdaptiveSelector selector; // null for random decks
+    private final LatencyHistogram grading = new LatencyHistogram();
+    private final LatencyHistogram delivery = new LatencyHistogram();
+    private final AtomicLong answers = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+
+    public LoadGenerator(CardStore store, int players, int gamesPerPlayer, int deckSize,
+                         long thinkMillis, double accuracy, double timeoutRate, long seed, SessionJournal journal,
+                         AdaptiveSelector selector) {
+        this.store = store;
+        this.players = players;
+        this.gamesPerPlayer = gamesPerPlayer;
+        this.deckSize = Math.min(deckSize, store.size());
+        this.thinkMillis = thinkMillis;
+        this.accuracy = accuracy;
+        this.timeoutRate = timeoutRate;
+        this.seed = seed;
+        this.journal = journal;
+        this.selector = selector;
+    }
+
+    // Run every player to completion and return the elapsed time in nanoseconds
+    public long run() throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        ExecutorService executor = TriviaServer.requestExecutor();
+        for (int i = 0; i < players; i++) {
+            SplittableRandom random = seeds.split();
+            String player = "player-" + i;
+            executor.execute(() -> play(player, random));
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private void play(String player, SplittableRandom random) {
+        LatencyHistogram playerGrading = new LatencyHistogram();
+        LatencyHistogram playerDelivery = new LatencyHistogram();
+        GameSession.Dealer dealer = selector != null ? selector.newPlayer() : DeckBuilder.anyCard(store.size());
+        GameSession session = new GameSession(store, deckSize, dealer,
+            GameSession.DEFAULT_QUESTION_SECONDS, new Random(random.nextLong()));
+        session.useTimer(DeadlineWheel.shared());
+        session.addListener(Leaderboard.shared().reporter(player));
+        session.addListener(Metrics.shared().recorder(store));
+        if (journal != null) {
+            session.addListener(journal.recorder(journal.newSessionId()));
+        }
+        long playerAnswers = 0;
+        long playerTimeouts = 0;
+        try {
+            for (int game = 0; game < gamesPerPlayer; game++) {
+                long t0 = System.nanoTime();
+                session.start();
+                readCard(session.currentCard());
+                playerDelivery.record(System.nanoTime() - t0);
+                while (true) {
+                    think(random);
+                    int card = session.currentCard();
+                    // Hold the session lock so the wheel cannot time the question out between
+                    // the state check and the answer
+                    synchronized (session) {
+                        if (session.state() != GameSession.State.QUESTION) {
+                            playerTimeouts++; // thought for longer than the question lasts
+                        } else if (random.nextDouble() < timeoutRate) {
+                            session.timeout();
+                            playerTimeouts++;
+                        } else {
+                            int option = pickOption(card, random);
+                            long t1 = System.nanoTime();
+                            session.answer(option);
+                            playerGrading.record(System.nanoTime() - t1);
+                            playerAnswers++;
+                        }
+                    }
+                    if (!session.hasNext()) {
+                        break;
+                    }
+                    long t2 = System.nanoTime();
+                    session.next();
+                    readCard(session.currentCard());
+                    playerDelivery.record(System.nanoTime() - t2);
+                }
+                session.finish();
+                games.incrementAndGet();
+            }
+        } finally {
+            session.finish(); // a game cut short must not stay active in the Metrics
+            grading.add(playerGrading);
+            delivery.add(playerDelivery);
+            answers.addAndGet(playerAnswers);
+            timeouts.addAndGet(playerTimeouts);
+        }
+    }
+
+    // What a client does with a delivered question: read the text and every option
+    private int readCard(int card) {
+        int length = store.question(card).length();
+        List<String> options = store.options(card);
+        for (int i = 0; i < options.size(); i++) {
+            length += options.get(i).length();
+        }
+        return length;
+    }
+
+    private int pickOption(int card, SplittableRandom random) {
+        int correct = store.correctOption(card);
+        int count = store.optionCount(card);
+        if (correct >= 0 && random.nextDouble() < accuracy) {
+            return correct;
+        }
+        int option = random.nextInt(count);
+        return option == correct && count > 1 ? (option + 1) % count : option;
+    }
+
+    private void think(SplittableRandom random) {
+        if (thinkMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(random.nextLong(2 * thinkMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        return String.format("""
+            java %s, %d cores
+            players=%d games=%d answers=%d timeouts=%d elapsed=%.2f s
+            sessions/sec: %.0f
+            answers/sec:  %.0f
+            answer grading:    %s
+            question delivery: %s
+            %s
+            %s (%.0f/sec)""",
+            System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(),
+            players, games.get(), answers.get(), timeouts.get(), seconds,
+            games.get() / seconds, answers.get() / seconds,
+            grading.summary(TimeUnit.MICROSECONDS), delivery.summary(TimeUnit.MICROSECONDS),
+            DeadlineWheel.shared(), Leaderboard.shared(), Leaderboard.shared().submissions() / seconds)
+            + (journal != null ? "\n" + journal : "");
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int players = 1000;
+        int games = 10;
+        int deck = 12;
+        long think = 0;
+        double accuracy = 0.7;
+        double timeoutRate = 0.05;
+        long seed = 1;
+        String journalDirectory = null;
+        boolean adaptive = false;
+        String bank = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--deck" -> deck = Integer.parseInt(args[++i]);
+                case "--think-ms" -> think = Long.parseLong(args[++i]);
+                case "--accuracy" -> accuracy = Double.parseDouble(args[++i]);
+                case "--timeouts" -> timeoutRate = Double.parseDouble(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--journal" -> journalDirectory = args[++i];
+                case "--adaptive" -> adaptive = true;
+                default -> bank = args[i];
+            }
+        }
+        CardStore store = bank != null ? CardStore.load(Path.of(bank)) : CardStore.of(TriviaCard.sampleDeck());
+        SessionJournal journal = journalDirectory != null ? SessionJournal.open(Path.of(journalDirectory)) : null;
+        AdaptiveSelector selector = adaptive ? new AdaptiveSelector(store) : null;
+        LoadGenerator generator = new LoadGenerator(store, players, games, deck, think, accuracy, timeoutRate, seed,
+            journal, selector);
+        Metrics.shared().exportJmx();
+        long elapsed = generator.run();
+        if (journal != null) {
+            journal.close();
+        }
+        System.out.println(generator.report(elapsed));
+        // Read back the way jconsole would, as a check on the JMX export
+        System.out.printf("JMX %s: sessions=%s active=%s answers=%s correct=%s timeouts=%s answer p50=%.1f us%n",
+            Metrics.OBJECT_NAME, Metrics.readJmx(Metrics.SESSIONS_STARTED), Metrics.readJmx(Metrics.ACTIVE_SESSIONS),
+            Metrics.readJmx(Metrics.ANSWERS), Metrics.readJmx(Metrics.CORRECT_ANSWERS),
+            Metrics.readJmx(Metrics.TIMEOUTS), Metrics.readJmx(Metrics.ANSWER_LATENCY + "P50Micros"));
+    }
+}
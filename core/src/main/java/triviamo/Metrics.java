@@ -0,0 +1,323 @@
+package triviamo;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+// Process-wide runtime metrics, readable over JMX as triviamo:type=Metrics
+//
+// Counters are LongAdders, striped across cells so sessions on different threads do not
+// contend on one cache line, and timings go into fixed-bucket LatencyHistograms; recording
+// either allocates nothing. Game sessions feed the registry through recorder(), and every game
+// a session plays counts as one session started; gauges are only evaluated when read.
+//
+// Every metric name is a JMX attribute name; a histogram "X" shows up as XCount,
+// XMeanMicros, XP50Micros, XP99Micros and XMaxMicros.
+public final class Metrics {
+    public static final String OBJECT_NAME = "triviamo:type=Metrics";
+
+    public static final String SESSIONS_STARTED = "SessionsStarted";
+    public static final String SESSIONS_FINISHED = "SessionsFinished";
+    public static final String ACTIVE_SESSIONS = "ActiveSessions";
+    public static final String QUESTIONS_SHOWN = "QuestionsShown";
+    public static final String ANSWERS = "Answers";
+    public static final String CORRECT_ANSWERS = "CorrectAnswers";
+    public static final String TIMEOUTS = "Timeouts";
+    public static final String ANSWER_LATENCY = "AnswerLatency";
+    public static final String EDT_QUEUE_DELAY = "EdtQueueDelay";
+    public static final String TIME_TO_FIRST_QUESTION = "TimeToFirstQuestion";
+    public static final String TIMER_THREADS = "TimerThreads";
+    public static final String TIMER_PENDING_DEADLINES = "TimerPendingDeadlines";
+    public static final String TIMER_MAX_DRIFT_MICROS = "TimerMaxDriftMicros";
+
+    private static final String[] HISTOGRAM_SUFFIXES = {"Count", "MeanMicros", "P50Micros", "P99Micros", "MaxMicros"};
+
+    private static final class SharedHolder {
+        static final Metrics SHARED = new Metrics();
+    }
+
+    private final ConcurrentSkipListMap<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    // Per-category counters by category id, one array per store (stores live as long as the process)
+    private final ConcurrentMap<CardStore, CategoryCounters[]> categories = new ConcurrentHashMap<>();
+
+    private final LongAdder sessionsStarted = counter(SESSIONS_STARTED);
+    private final LongAdder sessionsFinished = counter(SESSIONS_FINISHED);
+    private final LongAdder activeSessions = counter(ACTIVE_SESSIONS);
+    private final LongAdder questionsShown = counter(QUESTIONS_SHOWN);
+    private final LongAdder answers = counter(ANSWERS);
+    private final LongAdder correctAnswers = counter(CORRECT_ANSWERS);
+    private final LongAdder timeouts = counter(TIMEOUTS);
+    private final LatencyHistogram answerLatency = histogram(ANSWER_LATENCY);
+    private final LatencyHistogram edtQueueDelay = histogram(EDT_QUEUE_DELAY);
+    private final LatencyHistogram timeToFirstQuestion = histogram(TIME_TO_FIRST_QUESTION);
+
+    private static final class CategoryCounters {
+        final LongAdder answers;
+        final LongAdder correct;
+        final LongAdder timeouts;
+
+        CategoryCounters(Metrics metrics, String category) {
+            String prefix = "Category." + category + ".";
+            answers = metrics.counter(prefix + "Answers");
+            correct = metrics.counter(prefix + "Correct");
+            timeouts = metrics.counter(prefix + "Timeouts");
+        }
+    }
+
+    public Metrics() {
+        gauge(TIMER_THREADS, DeadlineWheel::runningWheels);
+        gauge(TIMER_PENDING_DEADLINES, () -> DeadlineWheel.shared().pendingDeadlines());
+        gauge(TIMER_MAX_DRIFT_MICROS, () -> TimeUnit.NANOSECONDS.toMicros(DeadlineWheel.shared().maxDriftNanos()));
+    }
+
+    // Registry used by the game clients and the server
+    public static Metrics shared() {
+        return SharedHolder.SHARED;
+    }
+
+    // Counter with the given name, created on first use
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    // Nanosecond histogram with the given name, created on first use
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public LatencyHistogram answerLatency() {
+        return answerLatency;
+    }
+
+    public LatencyHistogram edtQueueDelay() {
+        return edtQueueDelay;
+    }
+
+    // From launch to the first question on screen; one sample per launch, returns the nanoseconds
+    public long firstQuestionShown(long launchNanos) {
+        long nanos = System.nanoTime() - launchNanos;
+        timeToFirstQuestion.record(nanos);
+        return nanos;
+    }
+
+    // Listener that feeds one session's events into these metrics; add one per session
+    public GameSession.Listener recorder(CardStore store) {
+        return new SessionRecorder(categoriesOf(store));
+    }
+
+    private CategoryCounters[] categoriesOf(CardStore store) {
+        return categories.computeIfAbsent(store, key -> {
+            List<String> names = key.categories();
+            CategoryCounters[] counters = new CategoryCounters[names.size()];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new CategoryCounters(this, names.get(i));
+            }
+            return counters;
+        });
+    }
+
+    // Current value of a metric by attribute name, or null when there is no such metric
+    public Number value(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter.sum();
+        }
+        LongSupplier gauge = gauges.get(name);
+        if (gauge != null) {
+            return gauge.getAsLong();
+        }
+        for (String suffix : HISTOGRAM_SUFFIXES) {
+            if (name.endsWith(suffix)) {
+                LatencyHistogram histogram = histograms.get(name.substring(0, name.length() - suffix.length()));
+                if (histogram != null) {
+                    return histogramValue(histogram, suffix);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Number histogramValue(LatencyHistogram histogram, String suffix) {
+        if (suffix.equals("Count")) {
+            return histogram.count();
+        }
+        return switch (suffix) {
+            case "MeanMicros" -> histogram.mean() / 1e3;
+            case "P50Micros" -> histogram.percentile(50) / 1e3;
+            case "P99Micros" -> histogram.percentile(99) / 1e3;
+            default -> histogram.max() / 1e3;
+        };
+    }
+
+    // Every metric by attribute name, sorted
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        for (String name : names()) {
+            values.put(name, value(name));
+        }
+        return values;
+    }
+
+    private List<String> names() {
+        List<String> names = new ArrayList<>(counters.keySet());
+        names.addAll(gauges.keySet());
+        for (String histogram : histograms.keySet()) {
+            for (String suffix : HISTOGRAM_SUFFIXES) {
+                names.add(histogram + suffix);
+            }
+        }
+        return names;
+    }
+
+    // Register these metrics with the platform MBean server (jconsole, jcmd, JMX clients);
+    // registering the same registry again does nothing
+    public Metrics exportJmx() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // already exported
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not export metrics over JMX", e);
+        }
+        return this;
+    }
+
+    // Read one attribute back through the platform MBean server, as a JMX client would
+    public static Object readJmx(String attribute) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            return server.getAttribute(new ObjectName(OBJECT_NAME), attribute);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not read " + attribute + " over JMX", e);
+        }
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        snapshot().forEach((name, value) -> summary.append(name).append(" = ").append(value).append('\n'));
+        return summary.toString();
+    }
+
+    // Feeds one session; the question start time is per session, everything else is shared
+    private final class SessionRecorder implements GameSession.Listener {
+        private final CategoryCounters[] categoryCounters;
+        private long shownNanos;
+        private boolean active;
+
+        SessionRecorder(CategoryCounters[] categoryCounters) {
+            this.categoryCounters = categoryCounters;
+        }
+
+        @Override
+        public void questionShown(GameSession session, int position, int card) {
+            shownNanos = System.nanoTime();
+            questionsShown.increment();
+            if (!active) {
+                active = true;
+                sessionsStarted.increment();
+                activeSessions.increment();
+            }
+        }
+
+        @Override
+        public void answered(GameSession session, int position, int option, boolean correct) {
+            answerLatency.record(System.nanoTime() - shownNanos);
+            answers.increment();
+            CategoryCounters category = categoryCounters[session.store().categoryId(session.cardAt(position))];
+            category.answers.increment();
+            if (correct) {
+                correctAnswers.increment();
+                category.correct.increment();
+            }
+        }
+
+        @Override
+        public void timedOut(GameSession session, int position) {
+            timeouts.increment();
+            categoryCounters[session.store().categoryId(session.cardAt(position))].timeouts.increment();
+        }
+
+        @Override
+        public void finished(GameSession session) {
+            if (active) {
+                active = false;
+                sessionsFinished.increment();
+                activeSessions.decrement();
+            }
+        }
+    }
+
+    // Read-only view of the registry for JMX; attributes are looked up on every read,
+    // so metrics created after registration (new categories) show up on the next connect
+    private final class MBean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Number value = value(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Number value = value(attribute);
+                if (value != null) {
+                    list.add(new Attribute(attribute, value));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            snapshot().forEach((name, value) -> attributes.add(new MBeanAttributeInfo(
+                name, value.getClass().getName(), name, true, false, false)));
+            return new MBeanInfo(Metrics.class.getName(), "Triviamo runtime metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package triviamo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Drives a QuestionBankSource into a consumer and measures load throughput
+public final class QuestionBankLoader {
+    // Startup budget for loading a bank, overridable with -Dtriviamo.loadBudgetMs=...
+    public static final long LOAD_BUDGET_MS = Long.getLong("triviamo.loadBudgetMs", 2000);
+
+    private QuestionBankLoader() {
+    }
+
+    // Cards loaded and time taken for one bank load
+    public record LoadStats(long cards, long nanos) {
+        public double cardsPerSecond() {
+            return nanos == 0 ? 0 : cards * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+        }
+
+        public long millis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        public boolean overBudget() {
+            return millis() > LOAD_BUDGET_MS;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d cards in %d ms (%.0f cards/sec)", cards, millis(), cardsPerSecond());
+        }
+    }
+
+    // Hand every card to the sink as soon as it is parsed
+    public static LoadStats load(QuestionBankSource source, Consumer<TriviaCard> sink) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+        TriviaCard card;
+        while ((card = source.next()) != null) {
+            sink.accept(card);
+            count++;
+        }
+        return new LoadStats(count, System.nanoTime() - start);
+    }
+
+    // Load a whole bank file into a list, reporting throughput on stderr
+    public static List<TriviaCard> loadAll(Path path) throws IOException {
+        List<TriviaCard> cards = new ArrayList<>();
+        try (QuestionBankSource source = QuestionBankSource.open(path)) {
+            report(path, load(source, cards::add));
+        }
+        return cards;
+    }
+
+    static void report(Path path, LoadStats stats) {
+        System.err.println("Loaded " + path.getFileName() + ": " + stats);
+        if (stats.overBudget()) {
+            System.err.println("Warning: question bank load took longer than the "
+                + LOAD_BUDGET_MS + " ms startup budget");
+        }
+    }
+}
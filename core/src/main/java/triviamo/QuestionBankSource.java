@@ -0,0 +1,36 @@
+package triviamo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// A question bank that hands out cards one at a time, so a large bank
+// never has to be read into memory before the first card is built
+public interface QuestionBankSource extends Closeable {
+
+    // Returns the next card, or null once the bank is exhausted
+    TriviaCard next() throws IOException;
+
+    // Open a bank file, choosing the parser from the file extension
+    static QuestionBankSource open(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return new CsvQuestionBankSource(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return new JsonLinesQuestionBankSource(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+        }
+        if (name.endsWith(BinaryQuestionBank.EXTENSION)) {
+            return BinaryQuestionBank.open(path);
+        }
+        throw new IllegalArgumentException("Unknown question bank format: " + path);
+    }
+
+    // Parse a difficulty name the way bank files spell it ("easy", "HARD", ...)
+    static TriviaCard.Difficulty parseDifficulty(String value) {
+        return TriviaCard.Difficulty.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,190 @@
+package triviamo;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Prepares the next question of a game off the EDT while the player is on the current one
+//
+// The deck is dealt when the game starts, so when question n is shown card n+1 is already known.
+// Its option order is shuffled and its question text is broken into lines and laid out on a
+// background thread; moving on then only swaps the prepared question in. A question that is not
+// ready in time is prepared on the spot, as before. The first question of a game has nothing to
+// overlap with, so it is always prepared on the spot and is not counted as a hit or a miss.
+final class QuestionPrefetcher implements GameSession.Listener {
+    static final int WRAP_WIDTH = 480;
+
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "triviamo-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CardStore store;
+    private final Font font;
+    private final FontRenderContext frc;
+    private final int slots;
+    // Indexed by position parity: the question for n+2 is prepared as soon as n+1 is shown,
+    // possibly before the EDT has taken n+1, so the two must not share a slot
+    private final AtomicReferenceArray<Prepared> ready = new AtomicReferenceArray<>(2);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // A question ready to be shown: everything showQuestion used to work out on the EDT
+    static final class Prepared {
+        final int position;
+        final int card;
+        final int[] order;      // option shown on each button
+        final String[] options; // option text on each button
+        final String category;
+        final int width;
+        final int height;
+        private final TextLayout[] lines;
+        private final FontRenderContext frc;
+
+        private Prepared(int position, int card, int[] order, String[] options, String category,
+                         TextLayout[] lines, FontRenderContext frc) {
+            this.position = position;
+            this.card = card;
+            this.order = order;
+            this.options = options;
+            this.category = category;
+            this.lines = lines;
+            this.frc = frc;
+            float textWidth = 0;
+            float textHeight = 0;
+            for (TextLayout line : lines) {
+                textWidth = Math.max(textWidth, line.getVisibleAdvance());
+                textHeight += line.getAscent() + line.getDescent() + line.getLeading();
+            }
+            this.width = (int) Math.ceil(textWidth);
+            this.height = (int) Math.ceil(textHeight);
+        }
+
+        // Draw the question text with its top left corner at (x, y)
+        void paint(Graphics2D g, float x, float y) {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, frc.getAntiAliasingHint());
+            g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, frc.getFractionalMetricsHint());
+            for (TextLayout line : lines) {
+                y += line.getAscent();
+                line.draw(g, x, y);
+                y += line.getDescent() + line.getLeading();
+            }
+        }
+    }
+
+    // frc should be the one the question will be painted with, so line breaks come out the same
+    QuestionPrefetcher(CardStore store, Font font, FontRenderContext frc, int slots) {
+        this.store = store;
+        this.font = font;
+        this.frc = frc;
+        this.slots = slots;
+    }
+
+    @Override
+    public void questionShown(GameSession session, int position, int card) {
+        if (position + 1 < session.deckSize()) {
+            int nextPosition = position + 1;
+            int nextCard = session.cardAt(nextPosition);
+            WORKER.execute(() -> ready.set(nextPosition & 1, prepare(nextPosition, nextCard)));
+        }
+    }
+
+    // An adaptive dealer (AdaptiveSelector) picks the next card only once this one is played
+    @Override
+    public void answered(GameSession session, int position, int option, boolean correct) {
+        prefetchAgain(session, position + 1);
+    }
+
+    @Override
+    public void timedOut(GameSession session, int position) {
+        prefetchAgain(session, position + 1);
+    }
+
+    private void prefetchAgain(GameSession session, int position) {
+        if (position < session.deckSize()) {
+            int card = session.cardAt(position);
+            Prepared prepared = ready.get(position & 1);
+            if (prepared == null || prepared.position != position || prepared.card != card) {
+                WORKER.execute(() -> ready.set(position & 1, prepare(position, card)));
+            }
+        }
+    }
+
+    // The question to show at position; called on the EDT
+    Prepared take(int position, int card) {
+        if (position == 0) {
+            return prepare(position, card);
+        }
+        Prepared prepared = ready.get(position & 1);
+        if (prepared != null && prepared.position == position && prepared.card == card) {
+            hits.incrementAndGet();
+            return prepared;
+        }
+        misses.incrementAndGet();
+        return prepare(position, card);
+    }
+
+    Prepared prepare(int position, int card) {
+        // Shuffle option positions instead of copying the option list
+        List<String> options = store.options(card);
+        int[] order = new int[slots];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        String[] texts = new String[slots];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = options.get(order[i]);
+        }
+        String category = "Category: " + store.category(card) + " (" + store.difficulty(card) + ")";
+        return new Prepared(position, card, order, texts, category, layout(store.question(card)), frc);
+    }
+
+    private TextLayout[] layout(String text) {
+        if (text.isEmpty()) {
+            return new TextLayout[0];
+        }
+        AttributedString attributed = new AttributedString(text);
+        attributed.addAttribute(TextAttribute.FONT, font);
+        LineBreakMeasurer measurer = new LineBreakMeasurer(attributed.getIterator(), frc);
+        List<TextLayout> lines = new ArrayList<>();
+        while (measurer.getPosition() < text.length()) {
+            lines.add(measurer.nextLayout(WRAP_WIDTH));
+        }
+        return lines.toArray(new TextLayout[0]);
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    String summary() {
+        long ready = hits.get();
+        long total = ready + misses.get();
+        return String.format("prefetch:    %d of %d questions ready in time (%.1f%%)",
+            ready, total, total == 0 ? 0.0 : 100.0 * ready / total);
+    }
+}
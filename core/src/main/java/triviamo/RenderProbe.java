@@ -0,0 +1,240 @@
+package triviamo;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.swing.JButton;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+// Frame-time and EDT-latency instrumentation for the Swing client
+//
+// Paint time is the time the RepaintManager spends painting one batch of dirty
+// regions (one "frame"). EDT latency is how long a task posted with invokeLater
+// waits before it runs; a ping is posted from the deadline wheel every 100 ms
+// (every 10 ms in the headless run).
+// Both go into LatencyHistograms. In the GUI the probe is switched on with
+// -Dtriviamo.renderProbe=true and prints its summary on exit. main() runs the
+// same measurements headlessly, painting the game panel into a BufferedImage, so
+// rendering changes can be checked on a build machine without a display:
+//
+// Usage: java -cp triviamo.jar triviamo.RenderProbe [--frames 2000] [--no-cache] [--png last-frame.png]
+public final class RenderProbe {
+    private static final long PING_PERIOD_MILLIS = 100;
+    private static final long HEADLESS_PING_PERIOD_MILLIS = 10;
+    private static final int HEADLESS_SWITCH_PERIOD = 100;
+
+    private final LatencyHistogram paintTimes = new LatencyHistogram();
+    private final LatencyHistogram edtLatency;
+    private volatile DeadlineWheel.Timeout ping;
+    private volatile boolean running;
+
+    // RepaintManager that times each batch of dirty-region painting
+    private final class TimingRepaintManager extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            paintTimes.record(System.nanoTime() - start);
+        }
+    }
+
+    public RenderProbe() {
+        this(new LatencyHistogram());
+    }
+
+    private RenderProbe(LatencyHistogram edtLatency) {
+        this.edtLatency = edtLatency;
+    }
+
+    // Time every repaint of the Swing client and ping the EDT from the given wheel;
+    // EDT latency goes into the shared metrics (EdtQueueDelay)
+    public static RenderProbe install(DeadlineWheel wheel) {
+        RenderProbe probe = watchEdt(wheel);
+        RepaintManager.setCurrentManager(probe.new TimingRepaintManager());
+        return probe;
+    }
+
+    // Only ping the EDT, for the EdtQueueDelay metric; cheap enough to leave on
+    public static RenderProbe watchEdt(DeadlineWheel wheel) {
+        RenderProbe probe = new RenderProbe(Metrics.shared().edtQueueDelay());
+        probe.startPings(wheel, PING_PERIOD_MILLIS);
+        return probe;
+    }
+
+    public void startPings(DeadlineWheel wheel, long periodMillis) {
+        running = true;
+        schedulePing(wheel, periodMillis);
+    }
+
+    private void schedulePing(DeadlineWheel wheel, long periodMillis) {
+        ping = wheel.schedule(() -> {
+            long posted = System.nanoTime();
+            SwingUtilities.invokeLater(() -> edtLatency.record(System.nanoTime() - posted));
+            if (running) {
+                schedulePing(wheel, periodMillis);
+            }
+        }, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        running = false;
+        DeadlineWheel.Timeout pending = ping;
+        if (pending != null) {
+            pending.cancel();
+        }
+    }
+
+    public void recordPaint(long nanos) {
+        paintTimes.record(nanos);
+    }
+
+    public LatencyHistogram paintTimes() {
+        return paintTimes;
+    }
+
+    public LatencyHistogram edtLatency() {
+        return edtLatency;
+    }
+
+    public String summary() {
+        return "paint:       " + paintTimes.summary(TimeUnit.MICROSECONDS)
+            + "\nEDT latency: " + edtLatency.summary(TimeUnit.MICROSECONDS);
+    }
+
+    // Headless frame loop: hover over each option button in turn, repainting the button
+    // (what a hover costs) and every tenth frame the whole panel (what a countdown tick
+    // or a new question costs); each frame is its own EDT event, as in the real client.
+    // Every HEADLESS_SWITCH_PERIOD frames the question is answered and the next one shown,
+    // timing the EDT work from the click to the new question being in place.
+    // The last frame is saved to png when it is not null
+    static RenderProbe measure(CardStore store, int frames, Path png)
+            throws IOException, InterruptedException, InvocationTargetException {
+        RenderProbe probe = new RenderProbe();
+        LatencyHistogram fullFrames = new LatencyHistogram();
+        LatencyHistogram switches = new LatencyHistogram();
+        TriviaCard.TriviaGamePanel[] holder = new TriviaCard.TriviaGamePanel[1];
+        // One long game (cards may repeat) so the run never reaches the game-over dialog; the
+        // spare card keeps the last queued showAnswer from seeing the end of the deck
+        GameSession session = new GameSession(store, frames / HEADLESS_SWITCH_PERIOD + 2,
+            (deck, random) -> {
+                for (int i = 0; i < deck.length; i++) {
+                    deck[i] = random.nextInt(store.size());
+                }
+            }, GameSession.DEFAULT_QUESTION_SECONDS, new Random());
+        SwingUtilities.invokeAndWait(() -> {
+            TriviaCard.TriviaGamePanel panel = new TriviaCard.TriviaGamePanel(session);
+            // Keep the countdown out of the measurement; nothing should time out mid-run
+            session.useTimer(null);
+            panel.setSize(800, 600);
+            RepaintManager.currentManager(panel).setDoubleBufferingEnabled(false);
+            holder[0] = panel;
+        });
+        TriviaCard.TriviaGamePanel panel = holder[0];
+        // The first question is shown by an EDT task queued behind the one above. Without a
+        // window there is no peer for validate() to work with, so lay the tree out by hand.
+        SwingUtilities.invokeAndWait(() -> layout(panel));
+        List<JButton> buttons = new ArrayList<>();
+        collectButtons(panel, buttons);
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        probe.startPings(DeadlineWheel.shared(), HEADLESS_PING_PERIOD_MILLIS);
+        for (int frame = 0; frame < frames; frame++) {
+            int index = frame;
+            if (index % HEADLESS_SWITCH_PERIOD == HEADLESS_SWITCH_PERIOD - 1) {
+                SwingUtilities.invokeAndWait(() -> {
+                    long start = System.nanoTime();
+                    session.answer(0);
+                    session.next();
+                    // Runs after the showAnswer and showQuestion tasks the session just queued
+                    SwingUtilities.invokeLater(() -> {
+                        switches.record(System.nanoTime() - start);
+                        layout(panel);
+                    });
+                });
+                continue;
+            }
+            SwingUtilities.invokeAndWait(() -> {
+                JButton button = buttons.get(index % buttons.size());
+                int type = (index / buttons.size()) % 2 == 0 ? MouseEvent.MOUSE_ENTERED : MouseEvent.MOUSE_EXITED;
+                button.dispatchEvent(new MouseEvent(button, type, System.currentTimeMillis(), 0, 1, 1, 0, false));
+                if (index % 10 == 0) {
+                    long start = System.nanoTime();
+                    panel.paint(graphics);
+                    fullFrames.record(System.nanoTime() - start);
+                } else {
+                    Rectangle bounds = SwingUtilities.convertRectangle(button.getParent(), button.getBounds(), panel);
+                    Graphics2D clip = (Graphics2D) graphics.create(bounds.x, bounds.y, bounds.width, bounds.height);
+                    long start = System.nanoTime();
+                    button.paint(clip);
+                    probe.recordPaint(System.nanoTime() - start);
+                    clip.dispose();
+                }
+            });
+        }
+        probe.stop();
+        graphics.dispose();
+        if (png != null) {
+            ImageIO.write(image, "png", png.toFile());
+        }
+        System.out.println("full frame:  " + fullFrames.summary(TimeUnit.MICROSECONDS));
+        System.out.println("next switch: " + switches.summary(TimeUnit.MICROSECONDS));
+        System.out.println(panel.prefetcher().summary());
+        return probe;
+    }
+
+    private static void layout(Component component) {
+        if (component instanceof Container container) {
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+
+    private static void collectButtons(Component component, List<JButton> buttons) {
+        if (component instanceof JButton button && button.isVisible()) {
+            buttons.add(button);
+        }
+        if (component instanceof Container container) {
+            for (Component child : container.getComponents()) {
+                collectButtons(child, buttons);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int frames = 2000;
+        boolean cache = true;
+        Path png = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--frames" -> frames = Integer.parseInt(args[++i]);
+                case "--no-cache" -> cache = false;
+                case "--png" -> png = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        TriviaCard.TriviaGamePanel.RoundedBorder.setCaching(cache);
+        CardStore store = CardStore.of(TriviaCard.sampleDeck());
+        // One unmeasured pass warms up the JIT and the font and border caches
+        measure(store, frames, null);
+        System.out.println((cache ? "cached" : "uncached") + " borders, " + frames + " frames:");
+        RenderProbe probe = measure(store, frames, png);
+        System.out.println("hover paint: " + probe.paintTimes().summary(TimeUnit.MICROSECONDS));
+        System.out.println("EDT latency: " + probe.edtLatency().summary(TimeUnit.MICROSECONDS));
+        System.exit(0);
+    }
+}
@@ -0,0 +1,348 @@
+package triviamo;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+// Spaced-repetition reviews (SM-2): when each player should see each card they have played again
+//
+// Every answer a player gives is graded 0..5 (timed out 0, wrong 1, right 3..5 by how quickly)
+// and moves that card's schedule the SM-2 way: a failed card starts over and is due again in a
+// day; a passed one is due in 1 day, then 6, then the last interval times the card's ease, and
+// the ease (2.5 to start, never below 1.3) rises or falls with the grade. Study sessions deal the
+// player's most overdue cards first and fill up with cards the player has never played.
+//
+// Each player's schedule is a set of primitive columns kept in heap order by due time, so the
+// next due card is always the root and a review moves one entry in O(log n); an
+// open-addressing table finds a card's entry. An entry takes 13 bytes of columns and a 4-byte
+// table slot (about 28 bytes with the arrays' room to grow), with no object per entry.
+// Schedules are independent and each has its own lock, so any number of players review at once.
+public final class ReviewScheduler {
+    public static final int MAX_GRADE = 5;
+    public static final int PASSING_GRADE = 3;
+    public static final int MAX_INTERVAL_DAYS = Short.MAX_VALUE;
+    private static final int INITIAL_EASE = 250; // ease is kept in hundredths
+    private static final int MIN_EASE = 130;
+    private static final int MINUTES_PER_DAY = (int) TimeUnit.DAYS.toMinutes(1);
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int NEW_CARD_ATTEMPTS = 32;
+    private static final int ARITY = 4; // a 4-ary heap: half the levels of a binary one, children share a cache line
+
+    private final CardStore store;
+    private final Clock clock;
+    private final Map<String, Schedule> schedules = new ConcurrentHashMap<>();
+    private final LongAdder entries = new LongAdder();
+
+    public ReviewScheduler(CardStore store, Clock clock) {
+        this.store = store;
+        this.clock = clock;
+    }
+
+    // A player's schedule, created empty on first use; use it as the Dealer of a study session
+    public Schedule schedule(String player) {
+        return schedules.computeIfAbsent(player, name -> new Schedule());
+    }
+
+    public int players() {
+        return schedules.size();
+    }
+
+    // (player, card) pairs scheduled across all players
+    public long entries() {
+        return entries.sum();
+    }
+
+    // SM-2 grade of one answer: right with over 2/3 of the time left 5, over 1/3 4, else 3; wrong 1
+    public static int grade(boolean correct, int secondsLeft, int questionSeconds) {
+        if (!correct) {
+            return 1;
+        }
+        return 3 * secondsLeft > 2 * questionSeconds ? 5 : 3 * secondsLeft > questionSeconds ? 4 : 3;
+    }
+
+    // Reviews every card the player answers or lets time out in a session of any kind
+    public GameSession.Listener recorder(String player) {
+        Schedule schedule = schedule(player);
+        return new GameSession.Listener() {
+            @Override
+            public void answered(GameSession session, int position, int option, boolean correct) {
+                schedule.review(session.cardAt(position),
+                    grade(correct, session.timeLeft(), session.questionSeconds()));
+            }
+
+            @Override
+            public void timedOut(GameSession session, int position) {
+                schedule.review(session.cardAt(position), 0);
+            }
+        };
+    }
+
+    private int now() {
+        return (int) (clock.millis() / MINUTE_MILLIS);
+    }
+
+    // One player's cards, in heap order by due time (minutes since the epoch)
+    public final class Schedule implements GameSession.Dealer {
+        private int size;
+        private int[] cards = new int[16];
+        private int[] due = new int[16];
+        private short[] intervals = new short[16];   // days
+        private short[] eases = new short[16];       // hundredths
+        private byte[] repetitions = new byte[16];   // passes in a row, up to Byte.MAX_VALUE
+        private int[] table = new int[32];           // entry + 1 by card hash; 0 is a free slot
+        private int shift = 32 - 5;                  // hash bits are the top log2(table.length)
+
+        private Schedule() {
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        // The card that has been due the longest, or -1 if none is due yet
+        public synchronized int nextDue() {
+            return size > 0 && due[0] <= now() ? cards[0] : -1;
+        }
+
+        // When the card is due again (epoch millis), or -1 if the player has never played it
+        public synchronized long dueMillis(int card) {
+            int entry = find(card);
+            return entry < 0 ? -1 : due[entry] * MINUTE_MILLIS;
+        }
+
+        // Days until the card comes back after its last review; 0 if never played
+        public synchronized int intervalDays(int card) {
+            int entry = find(card);
+            return entry < 0 ? 0 : intervals[entry];
+        }
+
+        public synchronized double ease(int card) {
+            int entry = find(card);
+            return (entry < 0 ? INITIAL_EASE : eases[entry]) / 100.0;
+        }
+
+        // Record one review of a card, graded 0 (forgotten) .. MAX_GRADE (perfect recall)
+        public synchronized void review(int card, int grade) {
+            if (grade < 0 || grade > MAX_GRADE) {
+                throw new IllegalArgumentException("Grade must be 0.." + MAX_GRADE + ": " + grade);
+            }
+            if (card < 0 || card >= store.size()) {
+                throw new IllegalArgumentException("No card " + card + " in a bank of " + store.size());
+            }
+            int entry = find(card);
+            if (entry < 0) {
+                entry = append(card);
+            }
+            int interval;
+            if (grade >= PASSING_GRADE) {
+                int passes = repetitions[entry];
+                interval = passes == 0 ? 1 : passes == 1 ? 6
+                    : (int) Math.min(MAX_INTERVAL_DAYS, Math.round(intervals[entry] * eases[entry] / 100.0));
+                repetitions[entry] = (byte) Math.min(Byte.MAX_VALUE, passes + 1);
+                int miss = MAX_GRADE - grade;
+                eases[entry] = (short) Math.max(MIN_EASE, eases[entry] + 10 - miss * (8 + 2 * miss));
+            } else {
+                // Start over; SM-2 leaves the ease alone on a failure
+                interval = 1;
+                repetitions[entry] = 0;
+            }
+            intervals[entry] = (short) interval;
+            due[entry] = now() + interval * MINUTES_PER_DAY;
+            sift(entry);
+        }
+
+        // Study deck: the cards due now, longest overdue first, then cards the player has never
+        // played; reviews come from the session's recorder, not from the dealer
+        @Override
+        public synchronized void deal(int[] deck, RandomGenerator random) {
+            int dealt = dueCards(deck, now());
+            for (int i = dealt; i < deck.length; i++) {
+                deck[i] = unseenCard(deck, i, random);
+            }
+        }
+
+        // Best-first walk down the heap, through a small heap of frontier entries; O(k log k)
+        private int dueCards(int[] deck, int now) {
+            if (size == 0 || due[0] > now) {
+                return 0;
+            }
+            int[] frontier = new int[(ARITY - 1) * deck.length + 1];
+            int open = 1;
+            int dealt = 0;
+            while (open > 0 && dealt < deck.length) {
+                int entry = frontier[0];
+                deck[dealt++] = cards[entry];
+                frontier[0] = frontier[--open];
+                siftFrontier(frontier, open);
+                for (int child = ARITY * entry + 1; child <= ARITY * entry + ARITY && child < size; child++) {
+                    if (due[child] <= now) {
+                        int at = open++;
+                        while (at > 0 && due[frontier[(at - 1) >>> 1]] > due[child]) {
+                            frontier[at] = frontier[(at - 1) >>> 1];
+                            at = (at - 1) >>> 1;
+                        }
+                        frontier[at] = child;
+                    }
+                }
+            }
+            return dealt;
+        }
+
+        private void siftFrontier(int[] frontier, int open) {
+            int at = 0;
+            while (true) {
+                int earliest = at;
+                for (int child = 2 * at + 1; child <= 2 * at + 2 && child < open; child++) {
+                    if (due[frontier[child]] < due[frontier[earliest]]) {
+                        earliest = child;
+                    }
+                }
+                if (earliest == at) {
+                    return;
+                }
+                int swap = frontier[at];
+                frontier[at] = frontier[earliest];
+                frontier[earliest] = swap;
+                at = earliest;
+            }
+        }
+
+        // A random card the player has never played, or failing that the scheduled card that is
+        // due soonest (heap order, roughly) and not dealt yet
+        private int unseenCard(int[] deck, int dealt, RandomGenerator random) {
+            for (int attempt = 0; attempt < NEW_CARD_ATTEMPTS; attempt++) {
+                int card = random.nextInt(store.size());
+                if (find(card) < 0 && !contains(deck, dealt, card)) {
+                    return card;
+                }
+            }
+            for (int entry = 0; entry < size; entry++) {
+                if (!contains(deck, dealt, cards[entry])) {
+                    return cards[entry];
+                }
+            }
+            for (int card = 0; card < store.size(); card++) {
+                if (!contains(deck, dealt, card)) {
+                    return card;
+                }
+            }
+            throw new IllegalStateException("Only " + store.size() + " cards to deal, " + dealt + " dealt");
+        }
+
+        private int find(int card) {
+            for (int slot = hash(card); ; slot = (slot + 1) & (table.length - 1)) {
+                int entry = table[slot] - 1;
+                if (entry < 0 || cards[entry] == card) {
+                    return entry;
+                }
+            }
+        }
+
+        private int slotOf(int card) {
+            int slot = hash(card);
+            while (cards[table[slot] - 1] != card) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            return slot;
+        }
+
+        private int hash(int card) {
+            return (card * 0x9E3779B9) >>> shift;
+        }
+
+        // A new entry at the bottom of the heap, due never, so review() sifts it up into place
+        private int append(int card) {
+            if (size == cards.length) {
+                int capacity = size * 2;
+                cards = Arrays.copyOf(cards, capacity);
+                due = Arrays.copyOf(due, capacity);
+                intervals = Arrays.copyOf(intervals, capacity);
+                eases = Arrays.copyOf(eases, capacity);
+                repetitions = Arrays.copyOf(repetitions, capacity);
+            }
+            if (4 * (size + 1) > 3 * table.length) {
+                table = new int[table.length * 2];
+                shift--;
+                for (int entry = 0; entry < size; entry++) {
+                    insert(cards[entry], entry);
+                }
+            }
+            int entry = size++;
+            cards[entry] = card;
+            due[entry] = Integer.MAX_VALUE;
+            intervals[entry] = 0;
+            eases[entry] = INITIAL_EASE;
+            repetitions[entry] = 0;
+            insert(card, entry);
+            entries.increment();
+            return entry;
+        }
+
+        private void insert(int card, int entry) {
+            int slot = hash(card);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = entry + 1;
+        }
+
+        // Move an entry whose due time changed to its place, shifting the entries in its way by
+        // one level; each shifted entry costs one table probe
+        private void sift(int entry) {
+            int card = cards[entry];
+            int when = due[entry];
+            short interval = intervals[entry];
+            short ease = eases[entry];
+            byte passes = repetitions[entry];
+            int slot = slotOf(card);
+            int at = entry;
+            while (at > 0 && due[(at - 1) / ARITY] > when) {
+                at = shift((at - 1) / ARITY, at);
+            }
+            for (int child = earlierChild(at, when); child >= 0; child = earlierChild(at, when)) {
+                at = shift(child, at);
+            }
+            cards[at] = card;
+            due[at] = when;
+            intervals[at] = interval;
+            eases[at] = ease;
+            repetitions[at] = passes;
+            table[slot] = at + 1;
+        }
+
+        // The earliest child of an entry if it is due before when, else -1
+        private int earlierChild(int entry, int when) {
+            int earliest = -1;
+            for (int child = ARITY * entry + 1; child <= ARITY * entry + ARITY && child < size; child++) {
+                if (due[child] < when && (earliest < 0 || due[child] < due[earliest])) {
+                    earliest = child;
+                }
+            }
+            return earliest;
+        }
+
+        // Copy entry from into the hole at to; returns from, the new hole
+        private int shift(int from, int to) {
+            table[slotOf(cards[from])] = to + 1;
+            cards[to] = cards[from];
+            due[to] = due[from];
+            intervals[to] = intervals[from];
+            eases[to] = eases[from];
+            repetitions[to] = repetitions[from];
+            return from;
+        }
+    }
+
+    private static boolean contains(int[] deck, int dealt, int card) {
+        for (int i = 0; i < dealt; i++) {
+            if (deck[i] == card) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package triviamo;
+
+// End-of-game summary shown when a session finishes
+//
+// Everything comes from the session's running ScoreTally, so building the report
+// costs the same for a 12-card game and a 10,000-card marathon.
+public final class ScoreReport {
+    private ScoreReport() {
+    }
+
+    // Score, accuracy, category and difficulty breakdown and a closing remark for a session
+    public static String build(GameSession session) {
+        synchronized (session) {
+            return build(session.tally());
+        }
+    }
+
+    public static String build(ScoreTally tally) {
+        CardStore store = tally.store();
+        double percentage = tally.accuracy();
+        StringBuilder report = new StringBuilder(256);
+        report.append(String.format("""
+            Game Over!
+            
+            Final Score: %d of %d points
+            Questions Attempted: %d
+            Correct Answers: %d
+            Accuracy: %.1f%%
+            
+            Category Breakdown:
+            """, tally.scored(), tally.possible(), tally.answered(), tally.correct(), percentage));
+        for (int i = 0; i < tally.categoryCount(); i++) {
+            int category = tally.categoryAt(i);
+            report.append(String.format("%s: %.1f%% (%d/%d)\n", store.categories().get(category),
+                tally.categoryAccuracy(category), tally.categoryCorrect(category), tally.categoryAsked(category)));
+        }
+        report.append("\nDifficulty Breakdown:\n");
+        for (TriviaCard.Difficulty difficulty : TriviaCard.Difficulty.values()) {
+            if (tally.difficultyAsked(difficulty) > 0) {
+                report.append(String.format("%s: %d/%d correct\n", difficulty,
+                    tally.difficultyCorrect(difficulty), tally.difficultyAsked(difficulty)));
+            }
+        }
+
+        String grade;
+        if (percentage >= 90) {
+            grade = "Outstanding! You're a trivia master! 🏆";
+        } else if (percentage >= 80) {
+            grade = "Excellent work! Very knowledgeable! 🌟";
+        } else if (percentage >= 70) {
+            grade = "Great job! Keep learning! 📚";
+        } else if (percentage >= 60) {
+            grade = "Good effort! Room for improvement! 💪";
+        } else {
+            grade = "Keep practicing! You'll get better! 🎯";
+        }
+
+        return report.append('\n').append(grade).toString();
+    }
+}
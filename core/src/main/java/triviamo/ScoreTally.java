@@ -0,0 +1,186 @@
+package triviamo;
+
+import java.util.Arrays;
+
+// Running per-category and per-difficulty totals for one game
+//
+// The session updates the tally as each question is shown and answered, so the
+// score breakdown is available at any point of a game and the end-of-game summary
+// never has to walk the deck. Counters live in primitive arrays indexed by the
+// store's category id (or the difficulty ordinal); every update is O(1) and
+// allocation-free. Only the categories seen this game are listed and reset, so
+// a game over a bank with thousands of categories pays only for the ones it used.
+// The tally is written under the session lock; read it from a listener callback
+// or while holding the session's monitor for a consistent view.
+public final class ScoreTally {
+    private static final int DIFFICULTIES = TriviaCard.Difficulty.values().length;
+
+    // Per category id
+    private final int[] categoryAsked;
+    private final int[] categoryCorrect;
+    private final int[] categoryScored;
+    private final int[] categoryPossible;
+    // Category ids in the order they were first asked this game
+    private final int[] categoriesSeen;
+    private int categoriesSeenCount;
+
+    // Per difficulty ordinal
+    private final int[] difficultyAsked = new int[DIFFICULTIES];
+    private final int[] difficultyCorrect = new int[DIFFICULTIES];
+    private final int[] difficultyScored = new int[DIFFICULTIES];
+    private final int[] difficultyPossible = new int[DIFFICULTIES];
+
+    private final CardStore store;
+    private int asked;
+    private int answered;
+    private int correct;
+    private int scored;
+    private int possible;
+
+    public ScoreTally(CardStore store) {
+        int categories = store.categories().size();
+        this.store = store;
+        this.categoryAsked = new int[categories];
+        this.categoryCorrect = new int[categories];
+        this.categoryScored = new int[categories];
+        this.categoryPossible = new int[categories];
+        this.categoriesSeen = new int[categories];
+    }
+
+    // A card was shown: its points become part of the possible total
+    void asked(int card) {
+        int category = store.categoryId(card);
+        int difficulty = store.difficulty(card).ordinal();
+        int points = store.points(card);
+        if (categoryAsked[category]++ == 0) {
+            categoriesSeen[categoriesSeenCount++] = category;
+        }
+        categoryPossible[category] += points;
+        difficultyAsked[difficulty]++;
+        difficultyPossible[difficulty] += points;
+        asked++;
+        possible += points;
+    }
+
+    // The shown card was answered (or timed out, with correct false)
+    void answered(int card, boolean correct) {
+        answered++;
+        if (!correct) {
+            return;
+        }
+        int category = store.categoryId(card);
+        int difficulty = store.difficulty(card).ordinal();
+        int points = store.points(card);
+        categoryCorrect[category]++;
+        categoryScored[category] += points;
+        difficultyCorrect[difficulty]++;
+        difficultyScored[difficulty] += points;
+        this.correct++;
+        scored += points;
+    }
+
+    void reset() {
+        for (int i = 0; i < categoriesSeenCount; i++) {
+            int category = categoriesSeen[i];
+            categoryAsked[category] = 0;
+            categoryCorrect[category] = 0;
+            categoryScored[category] = 0;
+            categoryPossible[category] = 0;
+        }
+        categoriesSeenCount = 0;
+        Arrays.fill(difficultyAsked, 0);
+        Arrays.fill(difficultyCorrect, 0);
+        Arrays.fill(difficultyScored, 0);
+        Arrays.fill(difficultyPossible, 0);
+        asked = 0;
+        answered = 0;
+        correct = 0;
+        scored = 0;
+        possible = 0;
+    }
+
+    public CardStore store() {
+        return store;
+    }
+
+    // Questions shown so far, including the one on screen
+    public int asked() {
+        return asked;
+    }
+
+    // Questions answered or timed out
+    public int answered() {
+        return answered;
+    }
+
+    public int correct() {
+        return correct;
+    }
+
+    public int scored() {
+        return scored;
+    }
+
+    // Points of every question shown so far
+    public int possible() {
+        return possible;
+    }
+
+    // Share of the possible points scored, in percent (0 before the first question)
+    public double accuracy() {
+        return percent(scored, possible);
+    }
+
+    // Number of distinct categories asked this game
+    public int categoryCount() {
+        return categoriesSeenCount;
+    }
+
+    // Category id of the i-th category asked this game, in first-asked order
+    public int categoryAt(int i) {
+        if (i < 0 || i >= categoriesSeenCount) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return categoriesSeen[i];
+    }
+
+    public int categoryAsked(int category) {
+        return categoryAsked[category];
+    }
+
+    public int categoryCorrect(int category) {
+        return categoryCorrect[category];
+    }
+
+    public int categoryScored(int category) {
+        return categoryScored[category];
+    }
+
+    public int categoryPossible(int category) {
+        return categoryPossible[category];
+    }
+
+    public double categoryAccuracy(int category) {
+        return percent(categoryScored[category], categoryPossible[category]);
+    }
+
+    public int difficultyAsked(TriviaCard.Difficulty difficulty) {
+        return difficultyAsked[difficulty.ordinal()];
+    }
+
+    public int difficultyCorrect(TriviaCard.Difficulty difficulty) {
+        return difficultyCorrect[difficulty.ordinal()];
+    }
+
+    public int difficultyScored(TriviaCard.Difficulty difficulty) {
+        return difficultyScored[difficulty.ordinal()];
+    }
+
+    public int difficultyPossible(TriviaCard.Difficulty difficulty) {
+        return difficultyPossible[difficulty.ordinal()];
+    }
+
+    private static double percent(int part, int whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+}
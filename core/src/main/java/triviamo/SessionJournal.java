@@ -0,0 +1,401 @@
+package triviamo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+// Append-only journal of session events (.tqj segments in one directory)
+//
+// Every event is one fixed 32-byte record (little-endian):
+//   long  session id
+//   long  wall-clock time, epoch millis
+//   int   deck position
+//   int   card id
+//   int   score after the event
+//   byte  event type (see Event)
+//   byte  option + 1 (0 = none)
+//   byte  flags (bit 0: answer was correct)
+//   byte  check byte over the other 31 bytes
+// A segment starts with a 32-byte header (magic "TQJ1", record size, the first
+// session id handed out while it was current) and is followed by records up to
+// the first empty or damaged slot. Segments are preallocated and memory-mapped;
+// a reopened journal continues in a new segment.
+//
+// append() claims the next slot of the mapped segment with one atomic add and
+// writes the record straight into it, publishing it with a release store of its
+// last word; it never waits for I/O. One background thread follows behind,
+// finds the records that are complete and forces them to disk with a single
+// msync per millisecond (group commit). flush() waits until everything appended
+// so far is durable.
+public final class SessionJournal implements AutoCloseable {
+    static final String EXTENSION = ".tqj";
+    static final int MAGIC = 0x314A5154; // "TQJ1" in file byte order
+    static final int RECORD_SIZE = 32;
+    static final int HEADER_SIZE = 32;
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    // How long the sync thread waits before it forces the next batch
+    private static final long GROUP_COMMIT_NANOS = 1_000_000;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    public enum Event {
+        SHOWN, ANSWERED, TIMED_OUT, FINISHED;
+
+        private static final Event[] VALUES = values();
+
+        // Stored type byte; 0 marks an empty slot
+        int code() {
+            return ordinal() + 1;
+        }
+
+        static Event of(int code) {
+            return code >= 1 && code <= VALUES.length ? VALUES[code - 1] : null;
+        }
+    }
+
+    private static final class Segment {
+        final int index;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int end; // header plus a whole number of records
+        final AtomicInteger tail = new AtomicInteger(HEADER_SIZE); // next slot to claim; runs past end when full
+        volatile Segment next;
+
+        Segment(int index, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.end = HEADER_SIZE + (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+        }
+    }
+
+    private final Path directory;
+    private final long segmentSize;
+    private final AtomicLong sessionIds;
+    private final Object rollLock = new Object();
+    private final Thread syncer;
+    private volatile Segment current;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    // Sync thread state; durable packs (segment index << 32 | offset) of the first unforced slot
+    private Segment syncing;
+    private volatile long durable;
+    private volatile long written = 0;
+    private volatile long batches = 0;
+
+    private SessionJournal(Path directory, long segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        int firstIndex = 0;
+        long nextSession = 1;
+        if (!segments.isEmpty()) {
+            // Continue in a fresh segment, after every session id already used
+            Path last = segments.get(segments.size() - 1);
+            firstIndex = segmentIndex(last) + 1;
+            nextSession = nextSessionId(last);
+        }
+        this.sessionIds = new AtomicLong(nextSession);
+        this.current = openSegment(firstIndex);
+        this.syncing = current;
+        this.durable = position(current, HEADER_SIZE);
+        this.syncer = new Thread(this::run, "triviamo-journal");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+    }
+
+    public static SessionJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static SessionJournal open(Path directory, long segmentSize) throws IOException {
+        return new SessionJournal(directory, segmentSize);
+    }
+
+    // Flush and close the journal when the JVM exits; returns this journal
+    public SessionJournal closeOnShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                close();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not close journal " + directory + ": " + e);
+            }
+        }, "triviamo-journal-close"));
+        return this;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    // A session id not used by any earlier session in this journal
+    public long newSessionId() {
+        return sessionIds.getAndIncrement();
+    }
+
+    // Session listener that journals every event of a session under the given id
+    public GameSession.Listener recorder(long sessionId) {
+        return new GameSession.Listener() {
+            @Override
+            public void questionShown(GameSession session, int position, int card) {
+                append(sessionId, Event.SHOWN, position, card, AnswerSheet.NO_OPTION, false, session.score());
+            }
+
+            @Override
+            public void answered(GameSession session, int position, int option, boolean correct) {
+                append(sessionId, Event.ANSWERED, position, session.cardAt(position), option, correct, session.score());
+            }
+
+            @Override
+            public void timedOut(GameSession session, int position) {
+                append(sessionId, Event.TIMED_OUT, position, session.cardAt(position), AnswerSheet.NO_OPTION, false,
+                    session.score());
+            }
+
+            @Override
+            public void finished(GameSession session) {
+                append(sessionId, Event.FINISHED, session.position(), session.currentCard(), AnswerSheet.NO_OPTION, false,
+                    session.score());
+            }
+        };
+    }
+
+    // Write one event into the mapped segment; it reaches disk with the next group commit
+    public void append(long sessionId, Event event, int position, int card, int option, boolean correct, int score) {
+        if (!running) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        if (option < AnswerSheet.NO_OPTION || option > AnswerSheet.MAX_OPTION) {
+            throw new IllegalArgumentException("Option index out of range: " + option);
+        }
+        long time = System.currentTimeMillis();
+        long cards = (position & 0xFFFFFFFFL) | (long) card << 32;
+        long last = (score & 0xFFFFFFFFL)
+            | (long) event.code() << 32
+            | (long) (option + 1) << 40
+            | (correct ? 1L : 0L) << 48;
+        last |= (long) check(sessionId, time, cards, last) << 56;
+        while (true) {
+            Segment segment = current;
+            int at = segment.tail.getAndAdd(RECORD_SIZE);
+            if (at + RECORD_SIZE <= segment.end) {
+                MappedByteBuffer buffer = segment.buffer;
+                buffer.putLong(at, sessionId);
+                buffer.putLong(at + 8, time);
+                buffer.putLong(at + 16, cards);
+                LONGS.setRelease(buffer, at + 24, last);
+                return;
+            }
+            roll(segment);
+        }
+    }
+
+    // Wait until every event appended before this call is forced to disk
+    public void flush() throws IOException {
+        Segment segment = current;
+        long target = position(segment, Math.min(segment.tail.get(), segment.end));
+        while (durable < target) {
+            checkFailure();
+            LockSupport.unpark(syncer);
+            LockSupport.parkNanos(50_000);
+        }
+        checkFailure();
+    }
+
+    // Records forced to disk so far
+    public long recordsWritten() {
+        return written;
+    }
+
+    // Average records per group commit
+    public double averageBatch() {
+        long count = batches;
+        return count == 0 ? 0 : (double) written / count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        flush();
+        running = false;
+        LockSupport.unpark(syncer);
+        try {
+            syncer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        current.channel.close();
+        checkFailure();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SessionJournal[%s, records=%d, avgBatch=%.1f, segment=%d]",
+            directory, written, averageBatch(), current.index);
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("Journal failed", e);
+        }
+    }
+
+    // The first thread to overflow a segment opens the next one; the others wait for it
+    private void roll(Segment full) {
+        synchronized (rollLock) {
+            if (current != full) {
+                return;
+            }
+            checkFailure();
+            try {
+                Segment next = openSegment(full.index + 1);
+                full.next = next;
+                current = next;
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException("Could not open journal segment " + (full.index + 1), e);
+            }
+        }
+    }
+
+    private void run() {
+        while (true) {
+            boolean stopping = !running;
+            try {
+                sync();
+            } catch (IOException | RuntimeException e) {
+                failure = e instanceof IOException io ? io : new IOException(e);
+                return;
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(GROUP_COMMIT_NANOS);
+        }
+    }
+
+    // Force the complete records that follow the last forced one, moving on to newer
+    // segments once every slot of the current one is complete
+    private void sync() throws IOException {
+        int from = (int) durable;
+        while (true) {
+            MappedByteBuffer buffer = syncing.buffer;
+            int to = from;
+            while (to < syncing.end && isComplete(buffer, to)) {
+                to += RECORD_SIZE;
+            }
+            if (to > from) {
+                buffer.force(from, to - from);
+                written += (to - from) / RECORD_SIZE;
+                batches++;
+            }
+            Segment next = syncing.next;
+            if (to < syncing.end || next == null) {
+                durable = position(syncing, to);
+                return;
+            }
+            syncing.channel.close();
+            syncing = next;
+            from = HEADER_SIZE;
+            durable = position(syncing, from);
+        }
+    }
+
+    private static boolean isComplete(MappedByteBuffer buffer, int offset) {
+        long last = (long) LONGS.getAcquire(buffer, offset + 24);
+        return last != 0 && check(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16), last)
+            == (int) (last >>> 56);
+    }
+
+    private static long position(Segment segment, int offset) {
+        return (long) segment.index << 32 | offset;
+    }
+
+    private Segment openSegment(int index) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(directory, index),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, RECORD_SIZE);
+            buffer.putLong(8, sessionIds.get());
+            buffer.force(0, HEADER_SIZE);
+            return new Segment(index, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // One past the largest session id in a segment (or recorded in its header)
+    private static long nextSessionId(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException(segment + " is not a Triviamo journal segment (bad magic)");
+            }
+            long next = buffer.getLong(8);
+            for (int offset = HEADER_SIZE; offset + RECORD_SIZE <= buffer.capacity() && isValid(buffer, offset);
+                    offset += RECORD_SIZE) {
+                next = Math.max(next, buffer.getLong(offset) + 1);
+            }
+            return next;
+        }
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("journal-%06d%s", index, EXTENSION));
+    }
+
+    private static int segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring("journal-".length(), name.length() - EXTENSION.length()));
+    }
+
+    // Segment files in write order
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().matches("journal-\\d{6}\\" + EXTENSION))
+                .sorted()
+                .toList();
+        }
+    }
+
+    static boolean isValid(MappedByteBuffer buffer, int offset) {
+        long last = buffer.getLong(offset + 24);
+        return Event.of((int) (last >>> 32) & 0xFF) != null
+            && check(buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16), last)
+                == (int) (last >>> 56);
+    }
+
+    // One byte mixed from the record's other 31 bytes; catches torn and zeroed records
+    static int check(long session, long time, long cards, long last) {
+        long h = (session * 0x9E3779B97F4A7C15L) ^ (time * 0xC2B2AE3D27D4EB4FL)
+            ^ (cards * 0x165667B19E3779F9L) ^ ((last & 0x00FFFFFFFFFFFFFFL) * 0xD6E8FEB86659FD93L);
+        h ^= h >>> 32;
+        h ^= h >>> 16;
+        h ^= h >>> 8;
+        return (int) h & 0xFF;
+    }
+}
@@ -0,0 +1,213 @@
+package triviamo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+// Binary snapshot of one GameSession, so a game can move to another JVM or outlive a restart
+//
+// Layout (little-endian):
+//   int magic "TSS1", byte version, byte state, short 0
+//   int bank size, int deck size, int position, int seconds left, int seconds per question, int score
+//   int card id per deck position
+//   long answered bitset per 64 positions, then one byte per position (AnswerSheet's own layout)
+//   int CRC32C of everything before it
+// A 12-card game is 104 bytes. Card ids only mean something against the same bank: restoring
+// checks the bank size and that the answers add up to the recorded score. Listeners and the
+// timer are not part of the snapshot; the restoring client attaches its own.
+//
+// Decoding reads the deck and the answer sheet's arrays straight out of the buffer (which can
+// be a mapped file or a network buffer) into the new session, with nothing in between.
+public final class SessionSnapshot {
+    static final int MAGIC = 0x31535354; // "TSS1" in byte order
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final GameSession.State[] STATES = GameSession.State.values();
+
+    private SessionSnapshot() {
+    }
+
+    // Bytes needed for a session with the given deck size
+    public static int size(int deckSize) {
+        return HEADER_SIZE + 4 * deckSize + 8 * ((deckSize + 63) >>> 6) + deckSize + 4;
+    }
+
+    // Write the session at out's position and advance it; out's byte order is left alone
+    public static int encode(GameSession session, ByteBuffer out) {
+        ByteBuffer body = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+        synchronized (session) {
+            int deckSize = session.deckSize();
+            if (body.remaining() < size(deckSize)) {
+                throw new IllegalArgumentException("Snapshot needs " + size(deckSize) + " bytes, "
+                    + body.remaining() + " left");
+            }
+            body.putInt(MAGIC).put((byte) VERSION).put((byte) session.state().ordinal()).putShort((short) 0)
+                .putInt(session.store().size()).putInt(deckSize).putInt(session.position())
+                .putInt(session.timeLeft()).putInt(session.questionSeconds()).putInt(session.score());
+            for (int position = 0; position < deckSize; position++) {
+                body.putInt(session.cardAt(position));
+            }
+            session.answers().writeTo(body);
+        }
+        body.putInt(checksum(body, 0, body.position()));
+        out.position(out.position() + body.position());
+        return body.position();
+    }
+
+    public static byte[] encode(GameSession session) {
+        byte[] bytes = new byte[size(session.deckSize())];
+        encode(session, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    // A session dealing new games like GameSession(store) does
+    public static GameSession decode(CardStore store, ByteBuffer in) {
+        return decode(store, in, DeckBuilder.anyCard(store.size()), new Random());
+    }
+
+    // Read a snapshot at in's position and advance past it; dealer and random take over from the
+    // next game on, or from the next card for a dealer that picks cards as the game goes
+    public static GameSession decode(CardStore store, ByteBuffer in, GameSession.Dealer dealer, Random random) {
+        ByteBuffer body = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (body.remaining() < HEADER_SIZE || body.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a session snapshot (bad magic)");
+        }
+        if (body.get(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported session snapshot version " + body.get(4));
+        }
+        int state = body.get(5);
+        int bankSize = body.getInt(8);
+        int deckSize = body.getInt(12);
+        int position = body.getInt(16);
+        int timeLeft = body.getInt(20);
+        int questionSeconds = body.getInt(24);
+        int score = body.getInt(28);
+        if (deckSize <= 0 || body.remaining() < size(deckSize)) {
+            throw new IllegalArgumentException("Session snapshot is truncated");
+        }
+        int length = size(deckSize) - 4;
+        if (body.getInt(length) != checksum(body, 0, length)) {
+            throw new IllegalArgumentException("Session snapshot is damaged (checksum mismatch)");
+        }
+        if (bankSize != store.size()) {
+            throw new IllegalArgumentException("Session snapshot is of a bank of " + bankSize
+                + " cards, not this one of " + store.size());
+        }
+        if (state < 0 || state >= STATES.length || position < 0 || position >= deckSize) {
+            throw new IllegalArgumentException("Session snapshot has an invalid state or position");
+        }
+        int[] deck = new int[deckSize];
+        body.position(HEADER_SIZE).asIntBuffer().get(deck);
+        body.position(HEADER_SIZE + 4 * deckSize);
+        for (int card : deck) {
+            if (card < 0 || card >= store.size()) {
+                throw new IllegalArgumentException("Session snapshot deals card " + card + " of " + store.size());
+            }
+        }
+        GameSession session = GameSession.restored(store, deck, dealer, questionSeconds, random);
+        session.answers().readFrom(body);
+        session.resume(STATES[state], position, timeLeft);
+        if (session.score() != score) {
+            throw new IllegalArgumentException("Session snapshot scores " + score + " but its answers add up to "
+                + session.score() + " on this bank");
+        }
+        in.position(in.position() + length + 4);
+        return session;
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(from).limit(to));
+        return (int) crc.getValue();
+    }
+
+    // Checks a snapshot round trip through a second JVM and measures the codec
+    //   java SessionSnapshot [bank]                       plays half a game, hands it to a new JVM,
+    //                                                     and compares the two finished games
+    //   java SessionSnapshot --resume snapshot.tss [bank] restores and finishes a game (the child)
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean resume = args.length > 0 && args[0].equals("--resume");
+        int bankArg = resume ? 2 : 0;
+        CardStore store = args.length > bankArg
+            ? CardStore.load(Path.of(args[bankArg]))
+            : CardStore.of(TriviaCard.sampleDeck());
+        if (resume) {
+            GameSession session = decode(store, ByteBuffer.wrap(Files.readAllBytes(Path.of(args[1]))));
+            System.out.println("resumed " + describe(session));
+            System.out.println("finished " + describe(finish(session)));
+            return;
+        }
+
+        GameSession session = new GameSession(store);
+        session.start();
+        for (int played = 0; played < session.deckSize() / 2; played++) {
+            session.answer(played % store.optionCount(session.currentCard()));
+            session.next();
+        }
+        byte[] bytes = encode(session);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        int rounds = 200_000;
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            encode(session, buffer.clear());
+            long encoded = System.nanoTime();
+            decode(store, buffer.flip());
+            decodeNanos += System.nanoTime() - encoded;
+            encodeNanos += encoded - start;
+        }
+        System.out.printf("snapshot of a %d-card game: %d bytes, encode %.0f ns, decode %.0f ns%n",
+            session.deckSize(), bytes.length, (double) encodeNanos / rounds, (double) decodeNanos / rounds);
+
+        Path file = Files.createTempFile("triviamo-session", ".tss");
+        try {
+            Files.write(file, bytes);
+            String expected = "resumed " + describe(session) + System.lineSeparator()
+                + "finished " + describe(finish(decode(store, ByteBuffer.wrap(bytes))));
+            List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), SessionSnapshot.class.getName(),
+                "--resume", file.toString()));
+            if (args.length > 0) {
+                command.add(args[0]);
+            }
+            Process child = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            String actual = new String(child.getInputStream().readAllBytes()).strip();
+            int exit = child.waitFor();
+            System.out.println(actual);
+            if (exit != 0 || !actual.equals(expected)) {
+                System.out.println("MISMATCH, expected:" + System.lineSeparator() + expected);
+                System.exit(1);
+            } else {
+                System.out.println("handoff ok: the second JVM finished the same game with the same score");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // Answer the rest of the deck the same way in either JVM
+    private static GameSession finish(GameSession session) {
+        if (session.state() == GameSession.State.QUESTION) {
+            session.answer(0);
+        }
+        while (session.state() == GameSession.State.REVEALED && session.hasNext()) {
+            session.next();
+            session.answer(0);
+        }
+        session.finish();
+        return session;
+    }
+
+    private static String describe(GameSession session) {
+        return String.format("%s at %d of %d, %d correct, score %d, %ds left", session.state(),
+            session.position() + 1, session.deckSize(), session.correctCount(), session.score(), session.timeLeft());
+    }
+}
@@ -0,0 +1,26 @@
+package triviamo;
+
+import java.awt.Color;
+import java.awt.Font;
+
+// Fonts and colors shared by every component of the Swing client
+//
+// Font and Color are immutable, so one instance each is enough for the whole UI;
+// building them per component (or per answer) only made garbage for the EDT.
+final class Theme {
+    static final Color BACKGROUND = new Color(240, 244, 248);
+    static final Color ACCENT = new Color(70, 130, 180);
+    static final Color TEXT = new Color(33, 33, 33);
+    static final Color CORRECT_BACKGROUND = new Color(144, 238, 144); // Light green
+    static final Color CORRECT_TEXT = new Color(0, 100, 0);           // Dark green
+    static final Color WRONG_BACKGROUND = new Color(255, 182, 193);   // Light red
+    static final Color WRONG_TEXT = new Color(139, 0, 0);             // Dark red
+
+    static final Font QUESTION_FONT = new Font("Arial", Font.BOLD, 20);
+    static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 16);
+    static final Font OPTION_FONT = new Font("Arial", Font.PLAIN, 16);
+    static final Font SMALL_FONT = new Font("Arial", Font.BOLD, 12);
+
+    private Theme() {
+    }
+}
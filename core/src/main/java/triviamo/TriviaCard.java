@@ -0,0 +1,823 @@
+package triviamo;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
+import javax.swing.border.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Main class representing a Trivia Card (demonstrates encapsulation)
+// Cards are immutable, so one bank of cards can be shared by every game;
+// each game keeps its own answers in an AnswerSheet.
+public final class TriviaCard {
+    // Start of the launch: the class is initialized as main is entered
+    static final long LAUNCH_NANOS = System.nanoTime();
+
+    // Private fields (encapsulation)
+    private final String question;
+    private final String answer;
+    private final List<String> options;
+    private final Difficulty difficulty;
+    private final String category;
+    private final int points;
+    private final int correctOption;      // index of the answer in options, or -1
+    private final String normalizedAnswer; // answer folded once for free-text matching
+
+    // Enum for difficulty levels
+    // Colors are kept as RGB values so headless games never load AWT classes
+    public enum Difficulty {
+        EASY(100, 0x4CAF50),
+        MEDIUM(200, 0xFF9800),
+        HARD(300, 0xF44336),
+        EXPERT(500, 0x9C27B0);
+
+        private final int points;
+        private final int rgb;
+
+        Difficulty(int points, int rgb) {
+            this.points = points;
+            this.rgb = rgb;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public int getRgb() {
+            return rgb;
+        }
+
+        public Color getColor() {
+            return new Color(rgb);
+        }
+    }
+
+    // Constructor
+    public TriviaCard(String question, String answer, List<String> options, Difficulty difficulty, String category) {
+        this.question = question;
+        this.answer = answer;
+        this.options = List.copyOf(options);
+        this.difficulty = difficulty;
+        this.category = category;
+        this.points = difficulty.getPoints();
+        this.correctOption = findCorrectOption(answer, this.options);
+        this.normalizedAnswer = normalize(answer);
+    }
+
+    // Public methods to access private fields (encapsulation)
+    public String getQuestion() {
+        return question;
+    }
+
+    // Options are immutable, so callers get the list itself rather than a copy
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    // Index of the correct answer in getOptions(), or -1 if the answer is not one of the options
+    public int getCorrectOption() {
+        return correctOption;
+    }
+
+    // Check a chosen option (does not record anything on the card)
+    public boolean isCorrectOption(int optionIndex) {
+        return optionIndex >= 0 && optionIndex == correctOption;
+    }
+
+    // Check a free-text answer (does not record anything on the card)
+    // Compares against the pre-normalized answer without allocating
+    public boolean checkAnswer(String userAnswer) {
+        return userAnswer != null && matchesNormalized(userAnswer, normalizedAnswer);
+    }
+
+    // Position of an option in getOptions(), or -1 if the text is not an option
+    public int indexOfOption(String text) {
+        for (int i = 0; i < options.size(); i++) {
+            if (options.get(i).equalsIgnoreCase(text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Exact match first, so options differing only in case still resolve to the right one
+    static int findCorrectOption(String answer, List<String> options) {
+        int caseInsensitive = -1;
+        for (int i = 0; i < options.size(); i++) {
+            if (options.get(i).equals(answer)) {
+                return i;
+            }
+            if (caseInsensitive < 0 && options.get(i).equalsIgnoreCase(answer)) {
+                caseInsensitive = i;
+            }
+        }
+        return caseInsensitive;
+    }
+
+    // Fold text for answer matching: trimmed, case-folded per character
+    // Uses Character case mapping, so the result does not depend on the default locale
+    static String normalize(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        StringBuilder folded = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            folded.append(fold(text.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    // Same as normalize(input).equals(normalized), without building the normalized string
+    static boolean matchesNormalized(CharSequence input, String normalized) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start != normalized.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (fold(input.charAt(i)) != normalized.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    // Get card info
+    public String getCardInfo() {
+        return String.format("""
+            Category: %s
+            Difficulty: %s
+            Points: %d""",
+            category,
+            difficulty.name(),
+            points
+        );
+    }
+
+    // The window around a TriviaGamePanel
+    static class TriviaGameGUI extends JFrame {
+        final TriviaGamePanel panel;
+
+        public TriviaGameGUI(GameSession session) {
+            setTitle("Triviamo - Fun Trivia Game");
+            setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            setSize(800, 600);
+            setMinimumSize(new Dimension(600, 400));
+            panel = new TriviaGamePanel(session);
+            add(panel);
+            setLocationRelativeTo(null);
+        }
+    }
+
+    // A thin Swing client of GameSession: the session owns the game, the panel only shows it.
+    // Session callbacks may come from the timer thread, so each one hops onto the EDT.
+    // The panel needs no window, so it can also be laid out and painted headlessly (see RenderProbe).
+    static class TriviaGamePanel extends JPanel implements GameSession.Listener {
+        private final GameSession session;
+        private final CardStore store;
+        private QuestionView questionView;
+        private JLabel scoreLabel;
+        private JLabel categoryLabel;
+        private JPanel buttonPanel;
+        private JButton[] optionButtons;
+        private int[] optionOrder; // option shown on each button
+        private final QuestionPrefetcher prefetcher;
+        private final String player = System.getProperty("user.name", "Player");
+        private JPanel mainPanel;
+        private JButton nextButton; // created on the first reveal, the first question does not need it
+        private JProgressBar progressBar;
+        private JLabel timerLabel;
+
+        public TriviaGamePanel(GameSession session) {
+            this.session = session;
+            this.store = session.store();
+            setupGUI();
+            prefetcher = new QuestionPrefetcher(store, Theme.QUESTION_FONT,
+                questionView.getFontMetrics(Theme.QUESTION_FONT).getFontRenderContext(), optionButtons.length);
+            session.addListener(prefetcher);
+            session.addListener(this);
+            session.useTimer(DeadlineWheel.shared());
+            session.start();
+        }
+
+        private void setupGUI() {
+            setLayout(new BorderLayout(10, 10));
+            setBackground(Theme.BACKGROUND);
+
+            // Main panel with modern styling
+            mainPanel = new JPanel();
+            mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
+            mainPanel.setBorder(BorderFactory.createEmptyBorder(30, 30, 30, 30));
+            mainPanel.setBackground(Theme.BACKGROUND);
+
+            // Top panel with timer and progress
+            JPanel topPanel = new JPanel(new BorderLayout(20, 0));
+            topPanel.setOpaque(false);
+
+            // Timer label with icon
+            timerLabel = new JLabel(session.questionSeconds() + "s", SwingConstants.CENTER);
+            timerLabel.setFont(Theme.LABEL_FONT);
+            timerLabel.setForeground(Theme.ACCENT);
+            timerLabel.setBorder(BorderFactory.createCompoundBorder(
+                new RoundedBorder(Theme.ACCENT, 2, 20),
+                BorderFactory.createEmptyBorder(5, 15, 5, 15)
+            ));
+
+            progressBar = new JProgressBar(0, session.deckSize());
+            progressBar.setValue(1);
+            progressBar.setStringPainted(true);
+            progressBar.setString("Question 1 of " + session.deckSize());
+            progressBar.setFont(Theme.SMALL_FONT);
+            progressBar.setForeground(Theme.ACCENT);
+            progressBar.setBackground(Color.WHITE);
+
+            topPanel.add(timerLabel, BorderLayout.WEST);
+            topPanel.add(progressBar, BorderLayout.CENTER);
+
+            // Info panel with category and score
+            JPanel infoPanel = new JPanel(new BorderLayout(20, 0));
+            infoPanel.setOpaque(false);
+            
+            categoryLabel = new JLabel("Category: ");
+            categoryLabel.setFont(Theme.LABEL_FONT);
+            
+            scoreLabel = new JLabel("Score: 0");
+            scoreLabel.setFont(Theme.LABEL_FONT);
+            
+            infoPanel.add(categoryLabel, BorderLayout.WEST);
+            infoPanel.add(scoreLabel, BorderLayout.EAST);
+
+            // Question panel with modern styling
+            questionView = new QuestionView();
+            questionView.setFont(Theme.QUESTION_FONT);
+            questionView.setAlignmentX(Component.CENTER_ALIGNMENT);
+            questionView.setForeground(Theme.TEXT);
+
+            // Button panel with modern styling
+            buttonPanel = new JPanel(new GridLayout(2, 2, 20, 20));
+            buttonPanel.setOpaque(false);
+            optionButtons = new JButton[4];
+            optionOrder = new int[optionButtons.length];
+            
+            for (int i = 0; i < 4; i++) {
+                optionButtons[i] = new JButton();
+                optionButtons[i].setFont(Theme.OPTION_FONT);
+                optionButtons[i].setFocusPainted(false);
+                optionButtons[i].setBorder(new RoundedBorder(Theme.ACCENT, 2, 15));
+                optionButtons[i].setBackground(Color.WHITE);
+                optionButtons[i].setForeground(Theme.TEXT);
+                final int index = i;
+                optionButtons[i].addActionListener(e -> checkAnswer(index));
+                optionButtons[i].addMouseListener(new ButtonHoverEffect(optionButtons[i]));
+                buttonPanel.add(optionButtons[i]);
+            }
+
+            // Add components to main panel
+            mainPanel.add(topPanel);
+            mainPanel.add(Box.createRigidArea(new Dimension(0, 20)));
+            mainPanel.add(infoPanel);
+            mainPanel.add(Box.createRigidArea(new Dimension(0, 30)));
+            mainPanel.add(questionView);
+            mainPanel.add(Box.createRigidArea(new Dimension(0, 30)));
+            mainPanel.add(buttonPanel);
+            mainPanel.add(Box.createRigidArea(new Dimension(0, 20)));
+
+            add(mainPanel);
+        }
+
+        // Next button with modern styling
+        private JButton nextButton() {
+            if (nextButton == null) {
+                nextButton = new JButton("Next Question →");
+                nextButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+                nextButton.setFont(Theme.LABEL_FONT);
+                nextButton.setFocusPainted(false);
+                nextButton.setBorder(new RoundedBorder(Theme.ACCENT, 2, 20));
+                nextButton.setBackground(Theme.ACCENT);
+                nextButton.setForeground(Color.WHITE);
+                nextButton.addActionListener(e -> {
+                    if (session.state() == GameSession.State.REVEALED) {
+                        session.next();
+                    }
+                });
+                nextButton.addMouseListener(new ButtonHoverEffect(nextButton));
+                mainPanel.add(nextButton);
+                mainPanel.revalidate();
+            }
+            return nextButton;
+        }
+
+        // Session callbacks
+        @Override
+        public void questionShown(GameSession session, int position, int card) {
+            SwingUtilities.invokeLater(() -> showQuestion(position, card));
+        }
+
+        @Override
+        public void ticked(GameSession session, int secondsLeft) {
+            SwingUtilities.invokeLater(() -> {
+                timerLabel.setText(secondsLeft + "s");
+                if (secondsLeft <= 10) {
+                    timerLabel.setForeground(Color.RED);
+                }
+            });
+        }
+
+        @Override
+        public void answered(GameSession session, int position, int option, boolean correct) {
+            int card = session.cardAt(position);
+            SwingUtilities.invokeLater(() -> showAnswer(card, option, correct));
+        }
+
+        @Override
+        public void timedOut(GameSession session, int position) {
+            int card = session.cardAt(position);
+            SwingUtilities.invokeLater(() -> timeUp(card));
+        }
+
+        @Override
+        public void finished(GameSession session) {
+            Leaderboard.shared().submit(player, session.score());
+            SwingUtilities.invokeLater(this::showFinalScore);
+        }
+
+        private void timeUp(int card) {
+            for (JButton button : optionButtons) {
+                button.setEnabled(false);
+            }
+            // Show correct answer
+            int correctOption = store.correctOption(card);
+            for (int i = 0; i < optionButtons.length; i++) {
+                if (optionOrder[i] == correctOption) {
+                    optionButtons[i].setBackground(Theme.CORRECT_BACKGROUND);
+                    optionButtons[i].setForeground(Theme.CORRECT_TEXT);
+                }
+            }
+            showNextOrFinish();
+        }
+
+        // Custom rounded border class
+        // The antialiased outline is drawn once per size, scale and color into a translucent
+        // image; repaints (hover, countdown) just blit that image.
+        static class RoundedBorder extends AbstractBorder {
+            private static final int MAX_CACHED_IMAGES = 64;
+            private static final Map<ImageKey, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+            private static volatile boolean caching = true;
+
+            private final Color color;
+            private final int thickness;
+            private final int radius;
+            private final BasicStroke stroke;
+
+            public RoundedBorder(Color color, int thickness, int radius) {
+                this.color = color;
+                this.thickness = thickness;
+                this.radius = radius;
+                this.stroke = new BasicStroke(thickness);
+            }
+
+            private record ImageKey(int width, int height, int scaleX100, int scaleY100, int rgb, int thickness,
+                                    int radius) {
+            }
+
+            // Turn the image cache off to compare against drawing the outline on every paint
+            static void setCaching(boolean enabled) {
+                caching = enabled;
+                IMAGES.clear();
+            }
+
+            @Override
+            public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
+                if (!caching || !(g instanceof Graphics2D g2d) || width <= 0 || height <= 0) {
+                    Graphics2D direct = (Graphics2D) g.create();
+                    draw(direct, x, y, width, height);
+                    direct.dispose();
+                    return;
+                }
+                // Render at device resolution so HiDPI screens do not get a blurry outline
+                AffineTransform transform = g2d.getTransform();
+                double scaleX = Math.abs(transform.getScaleX());
+                double scaleY = Math.abs(transform.getScaleY());
+                ImageKey key = new ImageKey(width, height, (int) Math.round(scaleX * 100), (int) Math.round(scaleY * 100),
+                    color.getRGB(), thickness, radius);
+                BufferedImage image = IMAGES.get(key);
+                if (image == null) {
+                    image = render(width, height, scaleX, scaleY);
+                    if (IMAGES.size() >= MAX_CACHED_IMAGES) {
+                        IMAGES.clear();
+                    }
+                    IMAGES.put(key, image);
+                }
+                g2d.drawImage(image, x, y, width, height, null);
+            }
+
+            private BufferedImage render(int width, int height, double scaleX, double scaleY) {
+                BufferedImage image = new BufferedImage((int) Math.ceil(width * scaleX), (int) Math.ceil(height * scaleY),
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g2d = image.createGraphics();
+                g2d.scale(scaleX, scaleY);
+                draw(g2d, 0, 0, width, height);
+                g2d.dispose();
+                return image;
+            }
+
+            private void draw(Graphics2D g2d, int x, int y, int width, int height) {
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setColor(color);
+                g2d.setStroke(stroke);
+                g2d.drawRoundRect(x + thickness/2, y + thickness/2, 
+                                width - thickness, height - thickness, 
+                                radius, radius);
+            }
+
+            @Override
+            public Insets getBorderInsets(Component c) {
+                return new Insets(radius/2, radius/2, radius/2, radius/2);
+            }
+
+            @Override
+            public Insets getBorderInsets(Component c, Insets insets) {
+                insets.set(radius/2, radius/2, radius/2, radius/2);
+                return insets;
+            }
+        }
+
+        // Question text laid out ahead of time by the prefetcher, so showing it is a swap and a repaint
+        static class QuestionView extends JComponent {
+            private QuestionPrefetcher.Prepared question;
+            private Runnable firstPaint; // run once, after the first question is painted
+
+            void show(QuestionPrefetcher.Prepared question) {
+                boolean resized = this.question == null || this.question.height != question.height;
+                this.question = question;
+                if (resized) {
+                    revalidate();
+                }
+                repaint();
+            }
+
+            @Override
+            public Dimension getPreferredSize() {
+                return new Dimension(QuestionPrefetcher.WRAP_WIDTH, question == null ? 0 : question.height);
+            }
+
+            @Override
+            public Dimension getMaximumSize() {
+                return getPreferredSize();
+            }
+
+            @Override
+            protected void paintComponent(Graphics g) {
+                if (question != null) {
+                    g.setColor(getForeground());
+                    question.paint((Graphics2D) g, 0, 0);
+                    if (firstPaint != null) {
+                        Runnable callback = firstPaint;
+                        firstPaint = null;
+                        callback.run();
+                    }
+                }
+            }
+        }
+
+        // Button hover effect
+        private class ButtonHoverEffect extends MouseAdapter {
+            private final JButton button;
+            private final Color originalBackground;
+            private final Color originalForeground;
+
+            public ButtonHoverEffect(JButton button) {
+                this.button = button;
+                this.originalBackground = button.getBackground();
+                this.originalForeground = button.getForeground();
+            }
+
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                if (button.isEnabled()) {
+                    button.setBackground(Theme.ACCENT);
+                    button.setForeground(Color.WHITE);
+                }
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                if (button.isEnabled()) {
+                    button.setBackground(originalBackground);
+                    button.setForeground(originalForeground);
+                }
+            }
+        }
+
+        private void showQuestion(int position, int card) {
+            // Usually prepared off the EDT while the previous question was on screen
+            QuestionPrefetcher.Prepared question = prefetcher.take(position, card);
+            questionView.show(question);
+            categoryLabel.setText(question.category);
+            optionOrder = question.order;
+            
+            for (int i = 0; i < optionButtons.length; i++) {
+                optionButtons[i].setText(question.options[i]);
+                optionButtons[i].setEnabled(true);
+                optionButtons[i].setBackground(UIManager.getColor("Button.background"));
+                optionButtons[i].setForeground(UIManager.getColor("Button.foreground"));
+            }
+            
+            if (nextButton != null) {
+                nextButton.setVisible(false);
+            }
+            progressBar.setValue(position + 1);
+            progressBar.setString("Question " + (position + 1) + " of " + session.deckSize());
+            scoreLabel.setText("Score: " + session.score());
+            timerLabel.setText(session.questionSeconds() + "s");
+            timerLabel.setForeground(Theme.ACCENT);
+        }
+
+        private void checkAnswer(int buttonIndex) {
+            try {
+                session.answer(optionOrder[buttonIndex]);
+            } catch (IllegalStateException e) {
+                // The timer ended this question just before the click arrived
+            }
+        }
+
+        private void showAnswer(int card, int option, boolean isCorrect) {
+            for (JButton button : optionButtons) {
+                button.setEnabled(false);
+            }
+            
+            for (int i = 0; i < optionButtons.length; i++) {
+                if (optionOrder[i] == store.correctOption(card)) {
+                    optionButtons[i].setBackground(Theme.CORRECT_BACKGROUND);
+                    optionButtons[i].setForeground(Theme.CORRECT_TEXT);
+                } else if (optionOrder[i] == option && !isCorrect) {
+                    optionButtons[i].setBackground(Theme.WRONG_BACKGROUND);
+                    optionButtons[i].setForeground(Theme.WRONG_TEXT);
+                }
+            }
+            
+            if (isCorrect) {
+                scoreLabel.setText("Score: " + session.score());
+                Toolkit.getDefaultToolkit().beep();
+            }
+            
+            showNextOrFinish();
+        }
+
+        private void showNextOrFinish() {
+            if (session.hasNext()) {
+                nextButton().setVisible(true);
+            } else {
+                session.finish();
+            }
+        }
+
+        private void showFinalScore() {
+            int choice = JOptionPane.showConfirmDialog(
+                this,
+                ScoreReport.build(session) + "\n\n" + leaderboardLine() + "\n\nWould you like to play again?",
+                "Game Over",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.INFORMATION_MESSAGE
+            );
+
+            if (choice == JOptionPane.YES_OPTION) {
+                session.start();
+            } else {
+                Window window = SwingUtilities.getWindowAncestor(this);
+                if (window != null) {
+                    window.dispose();
+                }
+            }
+        }
+
+        QuestionPrefetcher prefetcher() {
+            return prefetcher;
+        }
+
+        // Run once on the EDT, right after the first question is painted
+        void onFirstQuestion(Runnable callback) {
+            questionView.firstPaint = callback;
+        }
+
+        private String leaderboardLine() {
+            Leaderboard leaderboard = Leaderboard.shared();
+            return String.format("Best today: %d points (rank #%d of %d)",
+                leaderboard.best(Leaderboard.Window.DAILY, player),
+                leaderboard.rank(Leaderboard.Window.DAILY, player),
+                leaderboard.players(Leaderboard.Window.DAILY));
+        }
+    }
+
+    // Main method to demonstrate the program
+    // Usage: java TriviaCard [bank.csv|bank.jsonl|bank.tqb|bank.tqs]
+    // With -Dtriviamo.journal=DIR every game is recorded in a SessionJournal
+    // With -Dtriviamo.renderProbe=true paint times, EDT latency and the prefetch hit rate are printed on exit,
+    // and the time from launch to the first question as soon as it is on screen
+    // With -Dtriviamo.adaptive=true each next card is picked for the player's Elo rating (AdaptiveSelector)
+    // Runtime metrics are exported over JMX as triviamo:type=Metrics (see jconsole)
+    // A precompiled bank (.tqs, see BankSnapshot) is mapped instead of parsed, for the fastest start
+    // Cards the game cannot show (see BankValidator) are reported and the game does not start
+    public static void main(String[] args) throws IOException {
+        CardStore store = args.length > 0
+            ? CardStore.load(Path.of(args[0]))
+            : CardStore.of(sampleDeck());
+        if (store.size() == 0) {
+            System.err.println("The question bank is empty.");
+            return;
+        }
+        // Snapshots were validated when they were compiled
+        if (args.length > 0 && !args[0].endsWith(BankSnapshot.EXTENSION)
+                && BankValidator.checkCards(store, System.err::println) > 0) {
+            System.err.println("The question bank has cards that cannot be played; see above.");
+            return;
+        }
+        String journalDirectory = System.getProperty("triviamo.journal");
+        SessionJournal journal = journalDirectory != null
+            ? SessionJournal.open(Path.of(journalDirectory)).closeOnShutdown()
+            : null;
+
+        // Launch GUI
+        SwingUtilities.invokeLater(() -> {
+            boolean probing = Boolean.getBoolean("triviamo.renderProbe");
+            RenderProbe probe = probing
+                ? RenderProbe.install(DeadlineWheel.shared())
+                : RenderProbe.watchEdt(DeadlineWheel.shared());
+            GameSession session = Boolean.getBoolean("triviamo.adaptive")
+                ? new GameSession(store, Math.min(store.size(), GameSession.DEFAULT_DECK_SIZE),
+                    new AdaptiveSelector(store).newPlayer(), GameSession.DEFAULT_QUESTION_SECONDS, new Random())
+                : new GameSession(store);
+            session.addListener(Metrics.shared().recorder(store));
+            if (journal != null) {
+                session.addListener(journal.recorder(journal.newSessionId()));
+            }
+            TriviaGameGUI game = new TriviaGameGUI(session);
+            game.panel.onFirstQuestion(() -> {
+                long nanos = Metrics.shared().firstQuestionShown(LAUNCH_NANOS);
+                if (probing) {
+                    System.out.printf("First question on screen %d ms after launch%n", nanos / 1_000_000);
+                }
+            });
+            if (probing) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                    System.out.println(probe.summary() + "\n" + game.panel.prefetcher().summary())));
+            }
+            game.setVisible(true);
+        });
+        // Off the EDT, so JMX start-up does not hold up the first question
+        Metrics.shared().exportJmx();
+    }
+
+    // Built-in deck used when no question bank file is given
+    static List<TriviaCard> sampleDeck() {
+        // Create sample trivia cards with more categories and questions
+        List<TriviaCard> cards = new ArrayList<>();
+        
+        // Geography Questions
+        cards.add(new TriviaCard(
+            "What is the capital of France?",
+            "Paris",
+            List.of("London", "Paris", "Berlin", "Madrid"),
+            Difficulty.EASY,
+            "Geography"
+        ));
+
+        cards.add(new TriviaCard(
+            "Which is the largest country by land area?",
+            "Russia",
+            List.of("China", "USA", "Russia", "Canada"),
+            Difficulty.EASY,
+            "Geography"
+        ));
+
+        // Science Questions
+        cards.add(new TriviaCard(
+            "What is the hardest natural substance on Earth?",
+            "Diamond",
+            List.of("Gold", "Iron", "Diamond", "Platinum"),
+            Difficulty.MEDIUM,
+            "Science"
+        ));
+
+        cards.add(new TriviaCard(
+            "What is the chemical symbol for gold?",
+            "Au",
+            List.of("Ag", "Au", "Fe", "Cu"),
+            Difficulty.MEDIUM,
+            "Science"
+        ));
+
+        // History Questions
+        cards.add(new TriviaCard(
+            "In which year did World War II end?",
+            "1945",
+            List.of("1943", "1944", "1945", "1946"),
+            Difficulty.MEDIUM,
+            "History"
+        ));
+
+        cards.add(new TriviaCard(
+            "Who was the first President of the United States?",
+            "George Washington",
+            List.of("Thomas Jefferson", "John Adams", "George Washington", "Benjamin Franklin"),
+            Difficulty.EASY,
+            "History"
+        ));
+
+        // Technology Questions
+        cards.add(new TriviaCard(
+            "Who co-founded Apple Computer with Steve Jobs?",
+            "Steve Wozniak",
+            List.of("Bill Gates", "Steve Wozniak", "Mark Zuckerberg", "Jeff Bezos"),
+            Difficulty.HARD,
+            "Technology"
+        ));
+
+        cards.add(new TriviaCard(
+            "What programming language was created by James Gosling?",
+            "Java",
+            List.of("Python", "Java", "C++", "JavaScript"),
+            Difficulty.HARD,
+            "Technology"
+        ));
+
+        // Literature Questions
+        cards.add(new TriviaCard(
+            "Who wrote 'Romeo and Juliet'?",
+            "William Shakespeare",
+            List.of("Charles Dickens", "William Shakespeare", "Jane Austen", "Mark Twain"),
+            Difficulty.EASY,
+            "Literature"
+        ));
+
+        cards.add(new TriviaCard(
+            "What's the first book of the Harry Potter series?",
+            "Harry Potter and the Philosopher's Stone",
+            List.of(
+                "Harry Potter and the Chamber of Secrets",
+                "Harry Potter and the Philosopher's Stone",
+                "Harry Potter and the Prisoner of Azkaban",
+                "Harry Potter and the Goblet of Fire"
+            ),
+            Difficulty.MEDIUM,
+            "Literature"
+        ));
+
+        // Expert Level Questions
+        cards.add(new TriviaCard(
+            "What is the smallest prime number greater than 100?",
+            "101",
+            List.of("101", "102", "103", "107"),
+            Difficulty.EXPERT,
+            "Mathematics"
+        ));
+
+        cards.add(new TriviaCard(
+            "Which scientist proposed the theory of special relativity?",
+            "Albert Einstein",
+            List.of("Isaac Newton", "Albert Einstein", "Niels Bohr", "Max Planck"),
+            Difficulty.EXPERT,
+            "Science"
+        ));
+
+        return cards;
+    }
+}
@@ -0,0 +1,503 @@
+package triviamo;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Multiplayer server mode: game sessions over HTTP/JSON with the JDK's built-in HTTP server
+//
+//   POST   /sessions                   new session, returns its id and first card;
+//          ?category=Science,History&minDifficulty=HARD   draw the deck from matching cards only
+//          ?player=NAME                 report the session's scores to the leaderboard
+//          ?adaptive=true               pick each next card by the player's Elo rating (kept per
+//                                       player name); answers then also return the new rating
+//          ?daily=true&player=NAME      today's daily challenge: the same stratified deck for
+//                                       the player all day (DailyChallenge)
+//          ?study=true&player=NAME      the player's cards due for review first, then new ones;
+//                                       every session with a player feeds the ReviewScheduler
+//   GET    /sessions/{id}              session state, score and time left
+//   GET    /sessions/{id}/card         current card
+//   POST   /sessions/{id}/answer?option=N   answer the current card (N = index in "options")
+//   POST   /sessions/{id}/next         move to the next card
+//   GET    /sessions/{id}/score        score summary
+//   GET    /leaderboard?window=daily&top=10   best players today (window=all for all time)
+//   GET    /leaderboard/{player}        a player's best score and rank in both windows
+//   DELETE /sessions/{id}              finish and discard the session
+//
+// Every request runs on its own virtual thread (on JDK 21+; a cached pool before that).
+// All sessions share one CardStore and one DeadlineWheel for their countdowns.
+// Runtime metrics are exported over JMX as triviamo:type=Metrics.
+// Usage: java TriviaServer [--port 8080] [--deck 10] [--journal dir] [bank.csv|bank.jsonl|bank.tqb|bank.tqs]
+public class TriviaServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_DECK_SIZE = 10;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final CardStore store;
+    private final int deckSize;
+    private final DeckBuilder decks;
+    private final DailyChallenge daily;
+    private final Leaderboard leaderboard = Leaderboard.shared();
+    private final ReviewScheduler reviews;
+    private final SessionJournal journal; // null when not journaling
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final DeadlineWheel wheel = DeadlineWheel.shared();
+    private final Map<Long, Entry> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveSelector.Player> ratedPlayers = new ConcurrentHashMap<>();
+    private volatile AdaptiveSelector selector; // built on the first adaptive session
+    private final AtomicLong nextId = new AtomicLong(1);
+    private volatile DeadlineWheel.Timeout sweep;
+
+    // A session plus the last time a client touched it
+    private static final class Entry {
+        final GameSession session;
+        final AdaptiveSelector.Player player; // null unless the session is adaptive
+        volatile long lastAccessNanos = System.nanoTime();
+
+        Entry(GameSession session, AdaptiveSelector.Player player) {
+            this.session = session;
+            this.player = player;
+        }
+    }
+
+    private TriviaServer(CardStore store, int port, int deckSize, SessionJournal journal) throws IOException {
+        this.store = store;
+        this.journal = journal;
+        this.deckSize = deckSize;
+        this.decks = new DeckBuilder(new CardIndex(store));
+        this.daily = new DailyChallenge(store, Math.min(deckSize, store.size()));
+        this.reviews = new ReviewScheduler(store, Clock.systemUTC());
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.executor = requestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/sessions", this::handle);
+        server.createContext("/leaderboard", this::handle);
+    }
+
+    // Start a server on the given port (0 picks a free port)
+    public static TriviaServer start(CardStore store, int port, int deckSize) throws IOException {
+        return start(store, port, deckSize, null);
+    }
+
+    // Start a server that records every session's events in a journal; session ids
+    // then come from the journal, so they stay unique across restarts
+    public static TriviaServer start(CardStore store, int port, int deckSize, SessionJournal journal)
+            throws IOException {
+        if (store.size() == 0) {
+            throw new IllegalArgumentException("The question bank is empty");
+        }
+        TriviaServer triviaServer = new TriviaServer(store, port, deckSize, journal);
+        triviaServer.server.start();
+        triviaServer.scheduleSweep();
+        return triviaServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    public void stop() {
+        DeadlineWheel.Timeout pendingSweep = sweep;
+        if (pendingSweep != null) {
+            pendingSweep.cancel();
+        }
+        server.stop(0);
+        executor.shutdown();
+        for (Entry entry : sessions.values()) {
+            entry.session.finish();
+        }
+        sessions.clear();
+    }
+
+    // Virtual thread per request where the JDK has them
+    static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (IllegalStateException e) {
+            send(exchange, 409, error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            // A bug, not a bad request: log it and still answer, unless the response has begun
+            e.printStackTrace();
+            if (exchange.getResponseCode() == -1) {
+                send(exchange, 500, error("Internal server error"));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        drainBody(exchange);
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        // parts: "", "sessions", id?, action?
+        String method = exchange.getRequestMethod();
+        if (parts.length >= 2 && parts[1].equals("leaderboard")) {
+            leaderboard(exchange, parts);
+            return;
+        }
+        // Contexts match by prefix, so /sessionsfoo and /leaderboardx land here too
+        if (parts.length < 2 || parts.length > 4 || !parts[1].equals("sessions")) {
+            send(exchange, 404, error("Unknown resource"));
+            return;
+        }
+        if (parts.length == 2) {
+            if (method.equals("POST")) {
+                createSession(exchange);
+            } else {
+                send(exchange, 405, error("Use POST to create a session"));
+            }
+            return;
+        }
+        Entry entry = lookup(parts[2]);
+        if (entry == null) {
+            send(exchange, 404, error("No such session: " + parts[2]));
+            return;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        GameSession session = entry.session;
+        String action = parts.length == 4 ? parts[3] : "";
+        switch (method + " " + action) {
+            case "GET " -> send(exchange, 200, status(session));
+            case "GET card" -> send(exchange, 200, card(session));
+            case "POST answer" -> answer(exchange, entry);
+            case "POST next" -> {
+                session.next();
+                send(exchange, 200, card(session));
+            }
+            case "GET score" -> send(exchange, 200, score(session));
+            case "DELETE " -> {
+                session.finish();
+                sessions.remove(Long.parseLong(parts[2]));
+                send(exchange, 200, score(session));
+            }
+            default -> send(exchange, 405, error("Unsupported: " + method + " " + exchange.getRequestURI().getPath()));
+        }
+    }
+
+    private void createSession(HttpExchange exchange) throws IOException {
+        CardFilter filter = filter(exchange.getRequestURI());
+        String player = queryParameter(exchange.getRequestURI(), "player");
+        if (player != null) {
+            player = URLDecoder.decode(player, StandardCharsets.UTF_8);
+        }
+        AdaptiveSelector.Player rated = null;
+        if (Boolean.parseBoolean(queryParameter(exchange.getRequestURI(), "adaptive"))) {
+            if (filter != CardFilter.ANY) {
+                throw new IllegalArgumentException("Adaptive decks draw from the whole bank and cannot be filtered");
+            }
+            rated = player != null ? ratedPlayers.computeIfAbsent(player, name -> selector().newPlayer())
+                : selector().newPlayer();
+        }
+        GameSession.Dealer dealer = rated;
+        if (Boolean.parseBoolean(queryParameter(exchange.getRequestURI(), "daily"))) {
+            if (player == null || filter != CardFilter.ANY || rated != null) {
+                throw new IllegalArgumentException("A daily challenge needs a player and cannot be filtered or adaptive");
+            }
+            dealer = daily.dealer(LocalDate.now(), player);
+        }
+        if (Boolean.parseBoolean(queryParameter(exchange.getRequestURI(), "study"))) {
+            if (player == null || filter != CardFilter.ANY || dealer != null) {
+                throw new IllegalArgumentException("A study session needs a player and cannot be filtered, adaptive or daily");
+            }
+            dealer = reviews.schedule(player);
+        }
+        int size = Math.min(deckSize, decks.available(filter));
+        if (size == 0) {
+            throw new IllegalArgumentException("No cards match " + filter);
+        }
+        GameSession session = new GameSession(store, size, dealer != null ? dealer : decks.dealer(filter),
+            GameSession.DEFAULT_QUESTION_SECONDS, new Random(ThreadLocalRandom.current().nextLong()));
+        session.addListener(Metrics.shared().recorder(store));
+        if (player != null) {
+            session.addListener(leaderboard.reporter(player));
+            session.addListener(reviews.recorder(player));
+        }
+        long id = journal != null ? journal.newSessionId() : nextId.getAndIncrement();
+        if (journal != null) {
+            session.addListener(journal.recorder(id));
+        }
+        sessions.put(id, new Entry(session, rated));
+        session.useTimer(wheel);
+        session.start();
+        exchange.getResponseHeaders().set("Location", "/sessions/" + id);
+        send(exchange, 201, "{\"id\":" + id + ",\"deckSize\":" + session.deckSize() + ",\"card\":" + card(session) + "}");
+    }
+
+    private AdaptiveSelector selector() {
+        AdaptiveSelector current = selector;
+        if (current == null) {
+            synchronized (this) {
+                current = selector;
+                if (current == null) {
+                    current = new AdaptiveSelector(store);
+                    selector = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Deck filter from ?category=A,B&minDifficulty=HARD
+    private static CardFilter filter(URI uri) {
+        CardFilter filter = CardFilter.ANY;
+        String categories = queryParameter(uri, "category");
+        if (categories != null) {
+            filter = filter.withCategories(URLDecoder.decode(categories, StandardCharsets.UTF_8).split(","));
+        }
+        String minDifficulty = queryParameter(uri, "minDifficulty");
+        if (minDifficulty != null) {
+            filter = filter.atLeast(QuestionBankSource.parseDifficulty(minDifficulty));
+        }
+        return filter;
+    }
+
+    private void answer(HttpExchange exchange, Entry entry) throws IOException {
+        GameSession session = entry.session;
+        String option = queryParameter(exchange.getRequestURI(), "option");
+        if (option == null) {
+            throw new IllegalArgumentException("Missing option parameter");
+        }
+        int optionIndex;
+        try {
+            optionIndex = Integer.parseInt(option);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option must be a number: " + option);
+        }
+        int card;
+        boolean correct;
+        synchronized (session) {
+            card = session.currentCard();
+            correct = session.answer(optionIndex);
+        }
+        send(exchange, 200, "{\"correct\":" + correct
+            + ",\"correctOption\":" + store.correctOption(card)
+            + ",\"score\":" + session.score()
+            + ",\"hasNext\":" + session.hasNext()
+            + (entry.player != null ? ",\"rating\":" + Math.round(entry.player.rating()) : "") + "}");
+    }
+
+    private Entry lookup(String id) {
+        try {
+            return sessions.get(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String card(GameSession session) {
+        int card;
+        int position;
+        int timeLeft;
+        synchronized (session) {
+            card = session.currentCard();
+            position = session.position();
+            timeLeft = session.timeLeft();
+        }
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"position\":").append(position)
+            .append(",\"question\":").append(quote(store.question(card)))
+            .append(",\"category\":").append(quote(store.category(card)))
+            .append(",\"difficulty\":\"").append(store.difficulty(card)).append('"')
+            .append(",\"points\":").append(store.points(card))
+            .append(",\"timeLeft\":").append(timeLeft)
+            .append(",\"options\":[");
+        List<String> options = store.options(card);
+        for (int i = 0; i < options.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(quote(options.get(i)));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String status(GameSession session) {
+        synchronized (session) {
+            return "{\"state\":\"" + session.state() + "\",\"position\":" + session.position()
+                + ",\"deckSize\":" + session.deckSize() + ",\"score\":" + session.score()
+                + ",\"timeLeft\":" + session.timeLeft() + "}";
+        }
+    }
+
+    private static String score(GameSession session) {
+        synchronized (session) {
+            ScoreTally tally = session.tally();
+            StringBuilder json = new StringBuilder(128 + 64 * tally.categoryCount());
+            json.append("{\"score\":").append(tally.scored())
+                .append(",\"possible\":").append(tally.possible())
+                .append(",\"correct\":").append(tally.correct())
+                .append(",\"answered\":").append(tally.answered())
+                .append(",\"deckSize\":").append(session.deckSize())
+                .append(",\"state\":\"").append(session.state()).append("\",\"categories\":[");
+            for (int i = 0; i < tally.categoryCount(); i++) {
+                int category = tally.categoryAt(i);
+                json.append(i == 0 ? "" : ",").append("{\"category\":").append(quote(session.store().categories().get(category)))
+                    .append(",\"asked\":").append(tally.categoryAsked(category))
+                    .append(",\"correct\":").append(tally.categoryCorrect(category))
+                    .append(",\"scored\":").append(tally.categoryScored(category))
+                    .append(",\"possible\":").append(tally.categoryPossible(category)).append('}');
+            }
+            return json.append("]}").toString();
+        }
+    }
+
+    private void leaderboard(HttpExchange exchange, String[] parts) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET") || parts.length > 3) {
+            send(exchange, 405, error("Use GET /leaderboard or GET /leaderboard/{player}"));
+            return;
+        }
+        if (parts.length == 3) {
+            String player = URLDecoder.decode(parts[2], StandardCharsets.UTF_8);
+            send(exchange, 200, "{\"player\":" + quote(player)
+                + ",\"daily\":" + standing(Leaderboard.Window.DAILY, player)
+                + ",\"allTime\":" + standing(Leaderboard.Window.ALL_TIME, player) + "}");
+            return;
+        }
+        URI uri = exchange.getRequestURI();
+        String windowName = queryParameter(uri, "window");
+        Leaderboard.Window window = windowName == null || windowName.equals("daily")
+            ? Leaderboard.Window.DAILY : Leaderboard.Window.ALL_TIME;
+        String top = queryParameter(uri, "top");
+        int k = top == null ? 10 : Integer.parseInt(top);
+        StringBuilder json = new StringBuilder("{\"window\":\"").append(window)
+            .append("\",\"players\":").append(leaderboard.players(window)).append(",\"top\":[");
+        List<Leaderboard.Standing> standings = leaderboard.top(window, k);
+        for (int i = 0; i < standings.size(); i++) {
+            Leaderboard.Standing standing = standings.get(i);
+            json.append(i == 0 ? "" : ",").append("{\"player\":").append(quote(standing.player()))
+                .append(",\"score\":").append(standing.score())
+                .append(",\"rank\":").append(standing.rank()).append('}');
+        }
+        send(exchange, 200, json.append("]}").toString());
+    }
+
+    private String standing(Leaderboard.Window window, String player) {
+        return "{\"best\":" + leaderboard.best(window, player) + ",\"rank\":" + leaderboard.rank(window, player) + "}";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    static String quote(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                return pair.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+
+    // Request bodies are not used; read them so the connection can be reused
+    private static void drainBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Drop sessions nobody has touched for a while, once a minute
+    private void scheduleSweep() {
+        sweep = wheel.schedule(() -> {
+            long now = System.nanoTime();
+            sessions.entrySet().removeIf(e -> {
+                if (now - e.getValue().lastAccessNanos < IDLE_TIMEOUT_NANOS) {
+                    return false;
+                }
+                e.getValue().session.finish();
+                return true;
+            });
+            scheduleSweep();
+        }, 1, TimeUnit.MINUTES);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int deckSize = DEFAULT_DECK_SIZE;
+        String journalDirectory = null;
+        String bank = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--deck" -> deckSize = Integer.parseInt(args[++i]);
+                case "--journal" -> journalDirectory = args[++i];
+                default -> bank = args[i];
+            }
+        }
+        CardStore store = bank != null ? CardStore.load(Path.of(bank)) : CardStore.of(TriviaCard.sampleDeck());
+        SessionJournal journal = journalDirectory != null
+            ? SessionJournal.open(Path.of(journalDirectory)).closeOnShutdown()
+            : null;
+        TriviaServer server = start(store, port, deckSize, journal);
+        Metrics.shared().exportJmx();
+        System.out.println("Triviamo server listening on http://localhost:" + server.port() + "/sessions");
+    }
+}
@@ -0,0 +1,58 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CardIndexTest {
+    private final CardStore store = CardStore.of(TriviaCard.sampleDeck());
+    private final CardIndex index = new CardIndex(store);
+
+    private int[] scan(List<String> categories, EnumSet<TriviaCard.Difficulty> levels) {
+        return IntStream.range(0, store.size())
+            .filter(card -> categories.contains(store.categories().get(store.categoryId(card))))
+            .filter(card -> levels.contains(store.difficulty(card)))
+            .toArray();
+    }
+
+    @Test
+    void matchesAScanOfTheBank() {
+        for (String category : store.categories()) {
+            for (TriviaCard.Difficulty level : TriviaCard.Difficulty.values()) {
+                CardFilter filter = CardFilter.ANY.withCategories(category).atLeast(level);
+                int[] expected = scan(List.of(category), EnumSet.range(level, TriviaCard.Difficulty.EXPERT));
+                assertArrayEquals(expected, index.matching(filter), filter.toString());
+                assertEquals(expected.length, index.count(filter));
+            }
+        }
+        assertEquals(0, index.count(CardFilter.ANY.withCategories("No such category")));
+        assertEquals(store.size(), index.count(CardFilter.ANY));
+    }
+
+    @Test
+    void cacheIsBoundedByTheIdsItHolds() {
+        List<String> categories = store.categories();
+        long limit = 8L * store.size();
+        // Every combination of categories, most of them broad
+        for (int mask = 1; mask < 1 << categories.size(); mask++) {
+            List<String> chosen = new ArrayList<>();
+            for (int c = 0; c < categories.size(); c++) {
+                if ((mask & 1 << c) != 0) {
+                    chosen.add(categories.get(c));
+                }
+            }
+            CardFilter filter = CardFilter.ANY.withCategories(chosen.toArray(String[]::new));
+            int[] ids = index.matching(filter);
+            assertArrayEquals(scan(chosen, EnumSet.allOf(TriviaCard.Difficulty.class)), ids);
+            assertSame(ids, index.matching(filter), "a filter just drawn from is cached");
+            assertTrue(index.cachedIds() <= limit, index.cachedIds() + " ids cached");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DeadlineWheelTest {
+    // Four buckets of 1 ms, so deadlines beyond 4 ms wait out whole rounds
+    private final DeadlineWheel wheel = new DeadlineWheel(1, TimeUnit.MILLISECONDS, 4);
+
+    @AfterEach
+    void closeWheel() {
+        wheel.close();
+    }
+
+    @Test
+    void firesNoEarlierThanTheDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long[] firedAt = new long[1];
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+        DeadlineWheel.Timeout timeout = wheel.scheduleAt(() -> {
+            firedAt[0] = System.nanoTime();
+            fired.countDown();
+        }, deadline);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(firedAt[0] >= deadline);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel(), "an expired deadline cannot be cancelled");
+        assertEquals(0, wheel.pendingDeadlines());
+    }
+
+    @Test
+    void cancelledDeadlinesNeverFire() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        DeadlineWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        assertEquals(1, wheel.pendingDeadlines());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.pendingDeadlines());
+        Thread.sleep(100);
+        assertEquals(0, runs.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    void firesInDeadlineOrderAcrossRounds() throws InterruptedException {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long now = System.nanoTime();
+        for (int millis : new int[] {45, 5, 25}) {
+            wheel.scheduleAt(() -> {
+                order.add(millis);
+                done.countDown();
+            }, now + TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(5, 25, 45), order);
+    }
+
+    @Test
+    void aFailingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            throw new IllegalStateException("task failure (expected by the test)");
+        }, 1, TimeUnit.MILLISECONDS);
+        wheel.schedule(fired::countDown, 10, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void closedWheelRefusesDeadlines() {
+        wheel.close();
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,199 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GameSessionTest {
+    private final CardStore store = CardStore.of(TriviaCard.sampleDeck());
+    private final DeadlineWheel wheel = new DeadlineWheel(1, TimeUnit.MILLISECONDS, 256);
+
+    @AfterEach
+    void closeWheel() {
+        wheel.close();
+    }
+
+    private GameSession session(int questionSeconds) {
+        return new GameSession(store, new int[] {0, 1, 2}, questionSeconds, new Random(42));
+    }
+
+    @Test
+    void startShowsTheFirstQuestion() {
+        GameSession session = session(30);
+        assertEquals(GameSession.State.READY, session.state());
+        session.start();
+        assertEquals(GameSession.State.QUESTION, session.state());
+        assertEquals(0, session.position());
+        assertEquals(30, session.timeLeft());
+        assertThrows(IllegalStateException.class, session::start);
+    }
+
+    @Test
+    void answerRevealsAndScoresOnce() {
+        GameSession session = session(30);
+        session.start();
+        int card = session.currentCard();
+        assertTrue(session.answer(store.correctOption(card)));
+        assertEquals(GameSession.State.REVEALED, session.state());
+        assertEquals(store.points(card), session.score());
+        assertEquals(1, session.correctCount());
+        assertThrows(IllegalStateException.class, () -> session.answer(0));
+        assertThrows(IllegalArgumentException.class, () -> {
+            session.next();
+            session.answer(store.optionCount(session.currentCard()));
+        });
+    }
+
+    @Test
+    void nextOnlyAfterAnAnswerAndWithinTheDeck() {
+        GameSession session = session(30);
+        session.start();
+        assertThrows(IllegalStateException.class, session::next);
+        for (int position = 0; position < session.deckSize(); position++) {
+            assertEquals(position, session.position());
+            session.answer(0);
+            if (position < session.deckSize() - 1) {
+                assertTrue(session.hasNext());
+                session.next();
+            }
+        }
+        assertFalse(session.hasNext());
+        assertThrows(IllegalStateException.class, session::next);
+    }
+
+    @Test
+    void ticksCountDownToATimeout() {
+        GameSession session = session(3);
+        session.start();
+        session.tick();
+        session.tick();
+        assertEquals(1, session.timeLeft());
+        assertEquals(GameSession.State.QUESTION, session.state());
+        session.tick();
+        assertEquals(GameSession.State.REVEALED, session.state());
+        assertEquals(0, session.timeLeft());
+        assertTrue(session.answers().isAnswered(0));
+        assertEquals(AnswerSheet.NO_OPTION, session.answers().chosenOption(0));
+        session.tick(); // late ticks are ignored
+        assertEquals(GameSession.State.REVEALED, session.state());
+    }
+
+    @Test
+    void listenersSeeEveryEventInOrder() {
+        GameSession session = session(1);
+        List<String> events = new ArrayList<>();
+        session.addListener(new GameSession.Listener() {
+            @Override
+            public void questionShown(GameSession s, int position, int card) {
+                events.add("shown " + position);
+            }
+
+            @Override
+            public void answered(GameSession s, int position, int option, boolean correct) {
+                events.add("answered " + position);
+            }
+
+            @Override
+            public void timedOut(GameSession s, int position) {
+                events.add("timedOut " + position);
+            }
+
+            @Override
+            public void finished(GameSession s) {
+                events.add("finished");
+            }
+        });
+        session.start();
+        session.answer(0);
+        session.next();
+        session.tick();
+        session.finish();
+        session.finish();
+        assertEquals(List.of("shown 0", "answered 0", "shown 1", "timedOut 1", "finished"), events);
+    }
+
+    @Test
+    void playingAgainStartsFromScratch() {
+        GameSession session = session(30);
+        session.start();
+        session.answer(store.correctOption(session.currentCard()));
+        session.finish();
+        assertEquals(GameSession.State.FINISHED, session.state());
+        session.start();
+        assertEquals(0, session.score());
+        assertEquals(0, session.position());
+        assertFalse(session.answers().isAnswered(0));
+    }
+
+    @Test
+    void wheelTimesTheQuestionOut() throws InterruptedException {
+        GameSession session = session(1);
+        session.useTimer(wheel);
+        session.start();
+        awaitState(session, GameSession.State.REVEALED, 3_000);
+        assertEquals(0, session.timeLeft());
+        assertEquals(AnswerSheet.NO_OPTION, session.answers().chosenOption(0));
+        session.finish();
+        awaitNoDeadlines();
+    }
+
+    @Test
+    void answeringCancelsTheCountdown() throws InterruptedException {
+        GameSession session = session(1);
+        session.useTimer(wheel);
+        session.start();
+        session.answer(0);
+        Thread.sleep(1_500);
+        assertEquals(GameSession.State.REVEALED, session.state());
+        assertEquals(0, session.answers().chosenOption(0));
+        awaitNoDeadlines();
+    }
+
+    // A tick that fires while the client holds the session lock to answer and move on must not
+    // count down the next question, nor leave a second countdown running
+    @Test
+    void staleTickDoesNotStartASecondCountdown() throws InterruptedException {
+        GameSession session = session(5);
+        session.useTimer(wheel);
+        long started = System.nanoTime();
+        session.start();
+        synchronized (session) {
+            // The first tick comes due one second after start() and blocks on the session lock
+            long firstTickFired = started + TimeUnit.MILLISECONDS.toNanos(1_200);
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(firstTickFired - System.nanoTime()));
+            assertTrue(wheel.firedCount() >= 1, "the first tick has fired");
+            session.answer(0);
+            session.next();
+        }
+        Thread.sleep(100);
+        assertEquals(5, session.timeLeft(), "the stale tick took a second off the new question");
+        Thread.sleep(1_500);
+        assertEquals(4, session.timeLeft(), "the question counts down once per second");
+        session.finish();
+        awaitNoDeadlines();
+    }
+
+    static void awaitState(GameSession session, GameSession.State state, long millis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (session.state() != state && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(state, session.state());
+    }
+
+    private void awaitNoDeadlines() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (wheel.pendingDeadlines() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, wheel.pendingDeadlines());
+    }
+}
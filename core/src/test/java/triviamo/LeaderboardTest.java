@@ -0,0 +1,120 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+    // A clock the test moves by hand
+    private static final class ManualClock extends Clock {
+        volatile long millis = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock();
+    private final Leaderboard leaderboard = new Leaderboard(clock);
+
+    @Test
+    void concurrentSubmitsKeepEveryPlayersBest() throws InterruptedException {
+        int threads = 8;
+        int submitsPerThread = 20_000;
+        int players = 200;
+        Map<String, Integer> expected = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            submitters.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < submitsPerThread; i++) {
+                    String player = "p" + random.nextInt(players);
+                    int score = random.nextInt(100_000);
+                    leaderboard.submit(player, score);
+                    expected.merge(player, score, Math::max);
+                }
+            }));
+        }
+        submitters.forEach(Thread::start);
+        start.countDown();
+        for (Thread submitter : submitters) {
+            submitter.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertEquals((long) threads * submitsPerThread, leaderboard.submissions());
+        assertEquals(expected.size(), leaderboard.players(Leaderboard.Window.ALL_TIME));
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            int best = entry.getValue();
+            assertEquals(best, leaderboard.best(Leaderboard.Window.ALL_TIME, entry.getKey()));
+            assertEquals(best, leaderboard.best(Leaderboard.Window.DAILY, entry.getKey()));
+            long above = expected.values().stream().filter(score -> score > best).count();
+            assertEquals(above + 1, leaderboard.rank(Leaderboard.Window.ALL_TIME, entry.getKey()));
+        }
+        List<Leaderboard.Standing> top = leaderboard.top(Leaderboard.Window.ALL_TIME, 10);
+        List<Integer> bestScores = expected.values().stream().sorted(Comparator.reverseOrder()).limit(10).toList();
+        assertEquals(bestScores, top.stream().map(Leaderboard.Standing::score).toList());
+    }
+
+    @Test
+    void scoresOnlyMoveUpAndTiesShareARank() {
+        leaderboard.submit("alice", 500);
+        leaderboard.submit("alice", 300);
+        leaderboard.submit("bob", 500);
+        leaderboard.submit("carol", 100);
+        assertEquals(500, leaderboard.best(Leaderboard.Window.ALL_TIME, "alice"));
+        assertEquals(1, leaderboard.rank(Leaderboard.Window.ALL_TIME, "alice"));
+        assertEquals(1, leaderboard.rank(Leaderboard.Window.ALL_TIME, "bob"));
+        assertEquals(3, leaderboard.rank(Leaderboard.Window.ALL_TIME, "carol"));
+        assertEquals(0, leaderboard.rank(Leaderboard.Window.ALL_TIME, "dave"));
+        assertEquals(-1, leaderboard.best(Leaderboard.Window.ALL_TIME, "dave"));
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.submit("dave", -1));
+    }
+
+    @Test
+    void dailyWindowStartsEmptyAtMidnight() {
+        leaderboard.submit("alice", 700);
+        clock.millis += TimeUnit.HOURS.toMillis(11); // 23:00 the same day
+        assertEquals(700, leaderboard.best(Leaderboard.Window.DAILY, "alice"));
+        clock.millis += TimeUnit.HOURS.toMillis(2); // 01:00 the next day
+        assertEquals(-1, leaderboard.best(Leaderboard.Window.DAILY, "alice"));
+        assertEquals(0, leaderboard.players(Leaderboard.Window.DAILY));
+        assertEquals(700, leaderboard.best(Leaderboard.Window.ALL_TIME, "alice"));
+        leaderboard.submit("alice", 200);
+        assertEquals(200, leaderboard.best(Leaderboard.Window.DAILY, "alice"));
+    }
+}
@@ -0,0 +1,122 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionJournalTest {
+    private static final long SEGMENT_SIZE = 4096; // 127 records, so a few hundred events roll segments
+
+    @TempDir
+    Path directory;
+
+    private final CardStore store = CardStore.of(TriviaCard.sampleDeck());
+
+    // Plays a 3-card game answering every card right: 7 events (3 shown, 3 answered, finished)
+    private void playGame(SessionJournal journal, long sessionId) {
+        GameSession session = new GameSession(store, new int[] {0, 1, 2}, 30, new Random(1));
+        session.addListener(journal.recorder(sessionId));
+        session.start();
+        for (int position = 0; position < 3; position++) {
+            session.answer(store.correctOption(session.currentCard()));
+            if (session.hasNext()) {
+                session.next();
+            }
+        }
+        session.finish();
+    }
+
+    private List<SessionJournal.Event> replay() throws IOException {
+        List<SessionJournal.Event> events = new ArrayList<>();
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                events.add(reader.event());
+            }
+        }
+        return events;
+    }
+
+    @Test
+    void replaysAGame() throws IOException {
+        try (SessionJournal journal = SessionJournal.open(directory, SEGMENT_SIZE)) {
+            playGame(journal, journal.newSessionId());
+        }
+        assertEquals(7, replay().size());
+        JournalReader.SessionState state = JournalReader.sessions(directory).get(1L);
+        assertEquals(1, state.games());
+        assertEquals(3, state.answered());
+        assertEquals(3, state.correct());
+        assertTrue(state.finished());
+    }
+
+    @Test
+    void replayStopsAtATornRecordAndAReopenedJournalCarriesOn() throws IOException {
+        try (SessionJournal journal = SessionJournal.open(directory, SEGMENT_SIZE)) {
+            playGame(journal, journal.newSessionId());
+        }
+        // The fifth record (the third question shown) lost its last word, as in a crash mid-write
+        Path segment = SessionJournal.segmentPath(directory, 0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8), SessionJournal.HEADER_SIZE + 4 * SessionJournal.RECORD_SIZE + 24);
+        }
+        assertEquals(4, replay().size());
+        JournalReader.SessionState torn = JournalReader.sessions(directory).get(1L);
+        assertEquals(1, torn.position());
+        assertEquals(2, torn.answered());
+        assertFalse(torn.finished());
+
+        try (SessionJournal journal = SessionJournal.open(directory, SEGMENT_SIZE)) {
+            long sessionId = journal.newSessionId();
+            assertEquals(2, sessionId, "session ids continue after the ones in the journal");
+            playGame(journal, sessionId);
+        }
+        assertEquals(4 + 7, replay().size());
+        assertTrue(JournalReader.sessions(directory).get(2L).finished());
+    }
+
+    @Test
+    void concurrentAppendsRollSegmentsWithoutLosingEvents() throws Exception {
+        int threads = 4;
+        int perThread = 200;
+        try (SessionJournal journal = SessionJournal.open(directory, SEGMENT_SIZE)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long sessionId = journal.newSessionId();
+                writers.add(new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(sessionId, SessionJournal.Event.SHOWN, i, i, AnswerSheet.NO_OPTION, false, i);
+                    }
+                }));
+            }
+            writers.forEach(Thread::start);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            journal.flush();
+            assertEquals(threads * perThread, journal.recordsWritten());
+        }
+        assertTrue(SessionJournal.segments(directory).size() > 1);
+        Map<Long, Integer> nextPosition = new HashMap<>();
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                int expected = nextPosition.getOrDefault(reader.sessionId(), 0);
+                assertEquals(expected, reader.position(), "each session's events replay in append order");
+                nextPosition.put(reader.sessionId(), expected + 1);
+            }
+            assertEquals(threads * perThread, reader.records());
+        }
+    }
+}
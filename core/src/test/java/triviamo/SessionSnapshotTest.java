@@ -0,0 +1,103 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SessionSnapshotTest {
+    private final CardStore store = CardStore.of(TriviaCard.sampleDeck());
+
+    // A game half played: some right, some wrong, the current question unanswered
+    private GameSession halfPlayed() {
+        GameSession session = new GameSession(store, 8, DeckBuilder.anyCard(store.size()), 30, new Random(7));
+        session.start();
+        for (int played = 0; played < 4; played++) {
+            int card = session.currentCard();
+            session.answer(played % 2 == 0 ? store.correctOption(card) : (store.correctOption(card) + 1) % 4);
+            session.next();
+        }
+        session.tick();
+        return session;
+    }
+
+    @Test
+    void roundTripRestoresTheGame() {
+        GameSession session = halfPlayed();
+        byte[] bytes = SessionSnapshot.encode(session);
+        assertEquals(SessionSnapshot.size(session.deckSize()), bytes.length);
+
+        GameSession restored = SessionSnapshot.decode(store, ByteBuffer.wrap(bytes));
+        assertEquals(session.state(), restored.state());
+        assertEquals(session.position(), restored.position());
+        assertEquals(session.score(), restored.score());
+        assertEquals(session.correctCount(), restored.correctCount());
+        assertEquals(session.timeLeft(), restored.timeLeft());
+        assertEquals(session.questionSeconds(), restored.questionSeconds());
+        for (int position = 0; position < session.deckSize(); position++) {
+            assertEquals(session.cardAt(position), restored.cardAt(position));
+            assertEquals(session.answers().chosenOption(position), restored.answers().chosenOption(position));
+        }
+
+        // Both finish the same way
+        for (GameSession game : List.of(session, restored)) {
+            game.answer(store.correctOption(game.currentCard()));
+            game.finish();
+        }
+        assertEquals(session.score(), restored.score());
+    }
+
+    @Test
+    void snapshotsFollowEachOtherInOneBuffer() {
+        GameSession first = halfPlayed();
+        GameSession second = new GameSession(store);
+        second.start();
+        ByteBuffer buffer = ByteBuffer.allocate(
+            SessionSnapshot.size(first.deckSize()) + SessionSnapshot.size(second.deckSize()));
+        SessionSnapshot.encode(first, buffer);
+        SessionSnapshot.encode(second, buffer);
+        assertEquals(0, buffer.remaining());
+        buffer.flip();
+        assertEquals(first.score(), SessionSnapshot.decode(store, buffer).score());
+        assertEquals(second.currentCard(), SessionSnapshot.decode(store, buffer).currentCard());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void damagedSnapshotIsRejected() {
+        byte[] bytes = SessionSnapshot.encode(halfPlayed());
+        bytes[40] ^= 1; // a card id
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> SessionSnapshot.decode(store, ByteBuffer.wrap(bytes)));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void truncatedOrForeignBytesAreRejected() {
+        byte[] bytes = SessionSnapshot.encode(halfPlayed());
+        assertThrows(IllegalArgumentException.class,
+            () -> SessionSnapshot.decode(store, ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> SessionSnapshot.decode(store, ByteBuffer.wrap(new byte[64])));
+    }
+
+    @Test
+    void snapshotOfAnotherBankIsRejected() {
+        byte[] bytes = SessionSnapshot.encode(halfPlayed());
+        CardStore smaller = CardStore.of(TriviaCard.sampleDeck().subList(0, 10));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> SessionSnapshot.decode(smaller, ByteBuffer.wrap(bytes)));
+        assertTrue(e.getMessage().contains("bank"), e.getMessage());
+    }
+
+    @Test
+    void encodingNeedsRoom() {
+        assertThrows(IllegalArgumentException.class,
+            () -> SessionSnapshot.encode(halfPlayed(), ByteBuffer.allocate(16)));
+    }
+}
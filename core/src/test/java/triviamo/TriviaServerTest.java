@@ -0,0 +1,114 @@
+package triviamo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TriviaServerTest {
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final CardStore store = CardStore.of(TriviaCard.sampleDeck());
+    private final HttpClient client = HttpClient.newHttpClient();
+    private TriviaServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = TriviaServer.start(store, 0, 3);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    private HttpResponse<String> request(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String id(HttpResponse<String> created) {
+        Matcher matcher = ID.matcher(created.body());
+        assertTrue(matcher.find(), created.body());
+        return matcher.group(1);
+    }
+
+    @Test
+    void playsAGameOverHttp() throws Exception {
+        HttpResponse<String> created = request("POST", "/sessions");
+        assertEquals(201, created.statusCode(), created.body());
+        assertTrue(created.body().contains("\"deckSize\":3"), created.body());
+        String session = "/sessions/" + id(created);
+        assertEquals(1, server.activeSessions());
+
+        for (int position = 0; position < 3; position++) {
+            HttpResponse<String> card = request("GET", session + "/card");
+            assertEquals(200, card.statusCode());
+            assertTrue(card.body().contains("\"position\":" + position), card.body());
+            HttpResponse<String> answer = request("POST", session + "/answer?option=0");
+            assertEquals(200, answer.statusCode(), answer.body());
+            assertTrue(answer.body().contains("\"hasNext\":" + (position < 2)), answer.body());
+            if (position < 2) {
+                assertEquals(200, request("POST", session + "/next").statusCode());
+            }
+        }
+        assertEquals(200, request("GET", session + "/score").statusCode());
+        assertEquals(200, request("DELETE", session).statusCode());
+        assertEquals(404, request("GET", session).statusCode());
+        assertEquals(0, server.activeSessions());
+    }
+
+    @Test
+    void unknownResourcesAre404() throws Exception {
+        assertEquals(404, request("POST", "/sessionsfoo").statusCode());
+        assertEquals(404, request("POST", "/leaderboardx").statusCode());
+        assertEquals(404, request("GET", "/sessions/999999").statusCode());
+        assertEquals(404, request("GET", "/sessions/not-a-number").statusCode());
+        assertEquals(0, server.activeSessions());
+    }
+
+    @Test
+    void badRequestsAre400AndOutOfTurnRequestsAre409() throws Exception {
+        String session = "/sessions/" + id(request("POST", "/sessions"));
+        assertEquals(400, request("POST", session + "/answer").statusCode());
+        assertEquals(400, request("POST", session + "/answer?option=x").statusCode());
+        assertEquals(409, request("POST", session + "/next").statusCode());
+        assertEquals(200, request("POST", session + "/answer?option=1").statusCode());
+        assertEquals(409, request("POST", session + "/answer?option=1").statusCode());
+        assertEquals(405, request("GET", "/sessions").statusCode());
+        assertEquals(400, request("POST", "/sessions?study=true").statusCode());
+    }
+
+    @Test
+    void filteredDecksAcceptRepeatedCategories() throws Exception {
+        HttpResponse<String> created = request("POST", "/sessions?category=History,History");
+        assertEquals(201, created.statusCode(), created.body());
+        HttpResponse<String> card = request("GET", "/sessions/" + id(created) + "/card");
+        assertTrue(card.body().contains("\"category\":\"History\""), card.body());
+    }
+
+    @Test
+    void playersScoresReachTheLeaderboard() throws Exception {
+        String player = "server-test-" + System.nanoTime();
+        String session = "/sessions/" + id(request("POST", "/sessions?player=" + player));
+        assertEquals(200, request("POST", session + "/answer?option=0").statusCode());
+        assertEquals(200, request("DELETE", session).statusCode()); // the final score is submitted
+        HttpResponse<String> standing = request("GET", "/leaderboard/" + player);
+        assertEquals(200, standing.statusCode());
+        assertTrue(standing.body().contains("\"player\":\"" + player + "\""), standing.body());
+        assertTrue(standing.body().contains("\"allTime\":{\"best\":"), standing.body());
+        assertFalse(standing.body().contains("\"rank\":0"), standing.body());
+    }
+}